@@ -9,12 +9,20 @@ import retrofit2.http.POST
 import retrofit2.http.PUT
 import retrofit2.http.Path
 import retrofit2.http.Query
+import retrofit2.http.Url
 
 
 interface TaskApiService {
 
+    // The list is paged: the next page's URL comes in the Link header with rel="next".
     @GET("api/tasks")
-    suspend fun getAll(@Query("sort") sort: String? = null): List<TaskDto>
+    suspend fun getAll(
+        @Query("sort") sort: String? = null,
+        @Query("limit") limit: Int? = null
+    ): Response<List<TaskDto>>
+
+    @GET
+    suspend fun getNextPage(@Url url: String): Response<List<TaskDto>>
 
     @GET("api/tasks/{id}")
     suspend fun getById(@Path("id") id: Long): TaskDto
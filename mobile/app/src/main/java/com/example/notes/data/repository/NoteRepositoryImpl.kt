@@ -7,6 +7,8 @@ import com.example.notes.data.network.TaskApiService
 import com.example.notes.data.network.TaskDto
 import com.example.notes.domain.repository.NoteRepository
 import okhttp3.internal.concurrent.Task
+import retrofit2.HttpException
+import retrofit2.Response
 import java.time.LocalDateTime
 import javax.inject.Inject
 
@@ -14,8 +16,15 @@ class TaskRepositoryImpl @Inject constructor(
     private val api: TaskApiService
 ) : TaskRepository {
 
-    override suspend fun getAll(sort: String?): List<TaskDto> =
-        api.getAll(sort)
+    override suspend fun getAll(sort: String?): List<TaskDto> {
+        val tasks = mutableListOf<TaskDto>()
+        var response = api.getAll(sort, PAGE_SIZE)
+        while (true) {
+            tasks += checked(response)
+            val next = nextPage(response) ?: return tasks
+            response = api.getNextPage(next)
+        }
+    }
 
     override suspend fun getById(id: Long): TaskDto =
         api.getById(id)
@@ -35,6 +44,20 @@ class TaskRepositoryImpl @Inject constructor(
 
     override suspend fun uncomplete(id: Long): TaskDto =
         api.uncomplete(id)
+
+    private fun checked(response: Response<List<TaskDto>>): List<TaskDto> {
+        if (!response.isSuccessful) throw HttpException(response)
+        return response.body().orEmpty()
+    }
+
+    private fun nextPage(response: Response<*>): String? =
+        response.headers()["Link"]?.let { NEXT_LINK.find(it)?.groupValues?.get(1) }
+
+    private companion object {
+        // The server's maximum page size, so a full list takes as few requests as possible.
+        const val PAGE_SIZE = 500
+        val NEXT_LINK = Regex("<([^>]*)>\\s*;\\s*rel=\"next\"")
+    }
 }
 
 interface TaskRepository {
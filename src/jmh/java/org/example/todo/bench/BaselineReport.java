@@ -0,0 +1,118 @@
+package org.example.todo.bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Compares a JMH json result with the committed baseline. Only bytes allocated per op can fail the build:
+// it does not depend on the machine. Time per op is reported, and flagged when the two confidence
+// intervals do not overlap, but a laptop baseline says nothing about a shared CI runner.
+// To accept new numbers, run with -Djmh.update=true; the baseline keeps no JVM paths or raw samples.
+public final class BaselineReport {
+
+    private static final String ALLOC = "gc.alloc.rate.norm";
+    // Allocation this small is noise from escape analysis and TLAB sampling, not a regression.
+    private static final double ALLOC_SLACK_BYTES = 64;
+
+    private BaselineReport() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        File baselineFile = new File(args[0]);
+        File resultFile = new File(args[1]);
+        double threshold = Double.parseDouble(args[2]) / 100;
+        boolean update = args.length > 3 && Boolean.parseBoolean(args[3]);
+        ObjectMapper mapper = new ObjectMapper();
+        if (update) {
+            mapper.writerWithDefaultPrettyPrinter().writeValue(baselineFile, strip(mapper, mapper.readTree(resultFile)));
+            System.out.println("Baseline written to " + baselineFile);
+            return;
+        }
+        if (!baselineFile.exists()) {
+            System.out.println("No baseline at " + baselineFile + ", nothing to compare");
+            return;
+        }
+        Map<String, JsonNode> baseline = byKey(mapper.readTree(baselineFile));
+        Map<String, JsonNode> current = byKey(mapper.readTree(resultFile));
+
+        int regressions = 0;
+        System.out.printf("%-70s %14s %14s %8s %12s %12s%n", "benchmark", "baseline", "current", "time", "B/op base", "B/op now");
+        for (Map.Entry<String, JsonNode> e : current.entrySet()) {
+            JsonNode base = baseline.get(e.getKey());
+            JsonNode now = e.getValue();
+            double score = now.at("/primaryMetric/score").asDouble();
+            double alloc = now.at("/secondaryMetrics/" + ALLOC + "/score").asDouble(Double.NaN);
+            if (base == null) {
+                System.out.printf("%-70s %14s %14.1f %8s %12s %12.0f%n", e.getKey(), "-", score, "new", "-", alloc);
+                continue;
+            }
+            double baseScore = base.at("/primaryMetric/score").asDouble();
+            double baseAlloc = base.at("/secondaryMetrics/" + ALLOC + "/score").asDouble(Double.NaN);
+            boolean slower = lower(now) > upper(base);
+            boolean heavier = alloc > Math.max(baseAlloc * (1 + threshold), baseAlloc + ALLOC_SLACK_BYTES);
+            if (heavier) {
+                regressions++;
+            }
+            System.out.printf("%-70s %14.1f %14.1f %+7.1f%% %12.0f %12.0f%s%s%n", e.getKey(), baseScore, score,
+                    (score / baseScore - 1) * 100, baseAlloc, alloc,
+                    slower ? "  slower" : "", heavier ? "  REGRESSION" : "");
+        }
+        if (regressions > 0) {
+            System.out.println(regressions + " benchmark(s) allocate more than " + args[2] + "% over the baseline");
+            System.exit(1);
+        }
+    }
+
+    private static double lower(JsonNode r) {
+        return r.at("/primaryMetric/score").asDouble() - r.at("/primaryMetric/scoreError").asDouble(0);
+    }
+
+    private static double upper(JsonNode r) {
+        return r.at("/primaryMetric/score").asDouble() + r.at("/primaryMetric/scoreError").asDouble(0);
+    }
+
+    // Keeps what the comparison reads; drops the JVM path, versions and raw samples of the machine that ran it.
+    private static ArrayNode strip(ObjectMapper mapper, JsonNode results) {
+        ArrayNode out = mapper.createArrayNode();
+        for (JsonNode r : results) {
+            ObjectNode b = out.addObject();
+            b.set("benchmark", r.get("benchmark"));
+            b.set("mode", r.get("mode"));
+            if (r.has("params")) {
+                b.set("params", r.get("params"));
+            }
+            b.set("primaryMetric", metric(mapper, r.get("primaryMetric")));
+            JsonNode alloc = r.at("/secondaryMetrics/" + ALLOC);
+            if (!alloc.isMissingNode()) {
+                b.putObject("secondaryMetrics").set(ALLOC, metric(mapper, alloc));
+            }
+        }
+        return out;
+    }
+
+    private static ObjectNode metric(ObjectMapper mapper, JsonNode m) {
+        ObjectNode out = mapper.createObjectNode();
+        out.set("score", m.get("score"));
+        out.set("scoreError", m.get("scoreError"));
+        out.set("scoreUnit", m.get("scoreUnit"));
+        return out;
+    }
+
+    private static Map<String, JsonNode> byKey(JsonNode results) {
+        Map<String, JsonNode> byKey = new LinkedHashMap<>();
+        for (JsonNode r : results) {
+            Map<String, String> params = new TreeMap<>();
+            r.path("params").fields().forEachRemaining(p -> params.put(p.getKey(), p.getValue().asText()));
+            String name = r.get("benchmark").asText().replace("org.example.todo.bench.", "");
+            byKey.put(params.isEmpty() ? name : name + params, r);
+        }
+        return byKey;
+    }
+}
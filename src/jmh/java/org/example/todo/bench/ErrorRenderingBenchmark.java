@@ -0,0 +1,64 @@
+package org.example.todo.bench;
+
+import org.example.todo.GlobalExceptionHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.ExceptionHandlerExceptionResolver;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+
+// From a thrown exception to a written response body, through the same resolver DispatcherServlet uses.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ErrorRenderingBenchmark {
+
+    @Param({"runtime", "missing", "status", "conflict"})
+    public String kind;
+
+    private AnnotationConfigApplicationContext context;
+    private ExceptionHandlerExceptionResolver resolver;
+    private MockHttpServletRequest request;
+    private Exception exception;
+
+    @Setup
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext(GlobalExceptionHandler.class);
+        resolver = new ExceptionHandlerExceptionResolver();
+        resolver.setApplicationContext(context);
+        resolver.afterPropertiesSet();
+        request = new MockHttpServletRequest("PUT", "/api/tasks/1");
+        exception = switch (kind) {
+            case "runtime" -> new IllegalStateException("Text '31.02.2030' could not be parsed");
+            case "missing" -> new NoSuchElementException("Task not found");
+            case "status" -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Title must be at least 4 characters long");
+            default -> new OptimisticLockingFailureException("Row was updated by another transaction");
+        };
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse render() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        resolver.resolveException(request, response, null, exception);
+        return response;
+    }
+}
@@ -0,0 +1,70 @@
+package org.example.todo.bench;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.todo.model.TaskEntity;
+import org.example.todo.model.TaskPriority;
+import org.example.todo.model.TaskStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// The mapper is built the way Spring Boot builds the one behind the REST endpoints.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskJsonBenchmark {
+
+    private static final TypeReference<List<TaskEntity>> TASKS = new TypeReference<>() {
+    };
+
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    private ObjectMapper mapper;
+    private List<TaskEntity> tasks;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = Jackson2ObjectMapperBuilder.json().build();
+        LocalDateTime now = LocalDateTime.of(2030, 1, 1, 12, 0);
+        tasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            TaskEntity t = new TaskEntity();
+            t.setId((long) i + 1);
+            t.setTitle("Задача номер " + i);
+            t.setDescription(i % 3 == 0 ? null : "Описание задачи " + i);
+            t.setPriority(TaskPriority.values()[i % 4]);
+            t.setStatus(TaskStatus.values()[i % TaskStatus.values().length]);
+            t.setDeadline(i % 2 == 0 ? LocalDate.of(2030, 1, 1).plusDays(i) : null);
+            t.setCreatedAt(now);
+            t.setUpdatedAt(now);
+            tasks.add(t);
+        }
+        json = mapper.writeValueAsBytes(tasks);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return mapper.writeValueAsBytes(tasks);
+    }
+
+    @Benchmark
+    public List<TaskEntity> deserialize() throws IOException {
+        return mapper.readValue(json, TASKS);
+    }
+}
@@ -0,0 +1,54 @@
+package org.example.todo.bench;
+
+import org.example.todo.service.DeadlineMacro;
+import org.example.todo.service.InDaysMacro;
+import org.example.todo.service.PriorityMacro;
+import org.example.todo.service.TitleMacroEngine;
+import org.example.todo.service.TodayDeadlineMacro;
+import org.example.todo.service.TomorrowMacro;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// What TaskService.applyMacros spends its time on; "deadline" and "invalid" exercise the date parsing.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TitleMacroBenchmark {
+
+    @Param({"plain", "priority", "deadline", "invalid", "relative", "mixed"})
+    public String title;
+
+    private TitleMacroEngine engine;
+    private String input;
+    private LocalDate today;
+
+    @Setup
+    public void setUp() {
+        engine = new TitleMacroEngine(List.of(new PriorityMacro(), new DeadlineMacro(),
+                new TodayDeadlineMacro(), new TomorrowMacro(), new InDaysMacro()));
+        today = LocalDate.now();
+        input = switch (title) {
+            case "plain" -> "Подготовить квартальный отчёт для бухгалтерии";
+            case "priority" -> "Подготовить квартальный отчёт !2";
+            case "deadline" -> "Подготовить квартальный отчёт !before 31.12.2030";
+            case "invalid" -> "Подготовить квартальный отчёт !before 31.02.2030";
+            case "relative" -> "Подготовить квартальный отчёт !in 2w";
+            default -> "!1 Подготовить !before квартальный отчёт !before 5-06-2030 !3";
+        };
+    }
+
+    @Benchmark
+    public TitleMacroEngine.Parsed parse() {
+        return engine.parse(input, false, today);
+    }
+}
@@ -0,0 +1,110 @@
+package org.example.todo;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.FlushEventListener;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+// Hibernate's own statistics are global; these count JDBC statements, entity loads and flushes
+// on the request thread and record them per endpoint once the request completes.
+@Component
+public class HibernateRequestMetrics extends OncePerRequestFilter implements HibernatePropertiesCustomizer {
+
+    private static final ThreadLocal<long[]> CURRENT = new ThreadLocal<>();
+    private static final int STATEMENTS = 0;
+    private static final int LOADS = 1;
+    private static final int FLUSHES = 2;
+
+    private final MeterRegistry registry;
+
+    public HibernateRequestMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void customize(Map<String, Object> properties) {
+        StatementInspector configured = configuredInspector(properties.get(AvailableSettings.STATEMENT_INSPECTOR));
+        properties.put(AvailableSettings.STATEMENT_INSPECTOR, (StatementInspector) sql -> {
+            count(STATEMENTS);
+            return configured != null ? configured.inspect(sql) : sql;
+        });
+        properties.put("hibernate.integrator_provider", (IntegratorProvider) () -> List.of(new Integrator() {
+            @Override
+            public void integrate(Metadata metadata, BootstrapContext context, SessionFactoryImplementor factory) {
+                EventListenerRegistry listeners = factory.getServiceRegistry().getService(EventListenerRegistry.class);
+                listeners.appendListeners(EventType.POST_LOAD, (PostLoadEventListener) event -> count(LOADS));
+                listeners.appendListeners(EventType.FLUSH, (FlushEventListener) event -> count(FLUSHES));
+            }
+
+            @Override
+            public void disintegrate(SessionFactoryImplementor factory, SessionFactoryServiceRegistry services) {
+            }
+        }));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long[] counters = new long[3];
+        CURRENT.set(counters);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            CURRENT.remove();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (pattern != null) {
+                Tags tags = Tags.of("method", request.getMethod(), "uri", pattern.toString());
+                record("todo.hibernate.request.statements", "JDBC statements prepared per request", tags, counters[STATEMENTS]);
+                record("todo.hibernate.request.loads", "Entities loaded per request", tags, counters[LOADS]);
+                record("todo.hibernate.request.flushes", "Session flushes per request", tags, counters[FLUSHES]);
+            }
+        }
+    }
+
+    private void record(String name, String description, Tags tags, long value) {
+        DistributionSummary.builder(name).description(description).tags(tags).register(registry).record(value);
+    }
+
+    // Keeps an inspector set through spring.jpa.properties working alongside the counter.
+    private static StatementInspector configuredInspector(Object setting) {
+        if (setting == null || setting instanceof StatementInspector) {
+            return (StatementInspector) setting;
+        }
+        try {
+            Class<?> type = setting instanceof Class<?> c ? c : Class.forName(setting.toString());
+            return (StatementInspector) type.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException ex) {
+            throw new IllegalStateException("Cannot create statement inspector " + setting, ex);
+        }
+    }
+
+    private static void count(int counter) {
+        long[] counters = CURRENT.get();
+        if (counters != null) {
+            counters[counter]++;
+        }
+    }
+}
@@ -2,10 +2,17 @@ package org.example.todo;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
-@SpringBootApplication
+// Built with -Preactive the classpath also carries R2DBC, whose ConnectionFactory would make Boot skip the DataSource.
+@SpringBootApplication(excludeName = {
+        "org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration",
+        "org.springframework.boot.autoconfigure.data.r2dbc.R2dbcRepositoriesAutoConfiguration"})
 @EnableJpaAuditing
+@ConfigurationPropertiesScan
+@EnableScheduling
 public class TodoApplication {
 
     public static void main(String[] args) {
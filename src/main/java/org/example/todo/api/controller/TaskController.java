@@ -1,12 +1,45 @@
 package org.example.todo.api.controller;
 
 import jakarta.validation.Valid;
+import org.example.todo.model.TaskBatchResult;
+import org.example.todo.model.TaskBulkResult;
+import org.example.todo.model.TaskChanges;
 import org.example.todo.model.TaskEntity;
+import org.example.todo.model.TaskFilter;
+import org.example.todo.model.TaskPage;
+import org.example.todo.model.TaskPriority;
+import org.example.todo.model.TaskSearchHit;
+import org.example.todo.model.TaskStats;
+import org.example.todo.model.TaskStatus;
+import org.example.todo.model.TaskView;
+import org.example.todo.service.TaskExportExecutor;
+import org.example.todo.service.TaskExportService;
+import org.example.todo.service.TaskListVersion;
+import org.example.todo.service.TaskSearch;
 import org.example.todo.service.TaskService;
+import org.example.todo.service.TaskStatsService;
+import org.example.todo.service.TaskStreamProperties;
+import org.example.todo.service.TaskSyncService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,20 +48,126 @@ import java.util.Optional;
 @Validated
 public class TaskController {
 
+    private static final int STREAM_BUFFER = 64 * 1024;
+
     private final TaskService svc;
+    private final TaskExportService export;
+    private final TaskListVersion version;
+    private final TaskSyncService sync;
+    private final TaskSearch search;
+    private final TaskStatsService stats;
+    private final TaskExportExecutor streamExecutor;
+    private final Duration streamTimeout;
 
-    public TaskController(TaskService svc) {
+    public TaskController(TaskService svc, TaskExportService export, TaskListVersion version,
+                          TaskSyncService sync, TaskSearch search, TaskStatsService stats,
+                          TaskExportExecutor streamExecutor, TaskStreamProperties streaming) {
         this.svc = svc;
+        this.export = export;
+        this.version = version;
+        this.sync = sync;
+        this.search = search;
+        this.stats = stats;
+        this.streamExecutor = streamExecutor;
+        this.streamTimeout = streaming.timeout();
     }
 
+    // Keyset pages (default and max limit from todo.tasks.page); the next page is announced in a
+    // Link header so the body stays a plain array.
     @GetMapping
-    public List<TaskEntity> list(@RequestParam Optional<String> sort) {
-        return svc.getAllSorted(sort.orElse(""));
+    public ResponseEntity<List<TaskView>> list(@RequestParam Optional<String> sort,
+                                               @RequestParam Optional<List<TaskStatus>> status,
+                                               @RequestParam Optional<List<TaskPriority>> priority,
+                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) Optional<LocalDate> deadlineFrom,
+                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) Optional<LocalDate> deadlineTo,
+                                               @RequestParam Optional<String> cursor,
+                                               @RequestParam Optional<Integer> limit,
+                                               WebRequest request) {
+        TaskListVersion.Stamp stamp = version.current();
+        if (request.checkNotModified(stamp.etag(), stamp.lastModified())) {
+            return null;
+        }
+        TaskFilter filter = new TaskFilter(
+                new HashSet<>(status.orElse(List.of())),
+                new HashSet<>(priority.orElse(List.of())),
+                deadlineFrom.orElse(null),
+                deadlineTo.orElse(null));
+        TaskPage<TaskView> page = svc.getList(sort.orElse(""), filter, cursor.orElse(null), limit.orElse(null));
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            // Path and query only: the servlet's own scheme and host are wrong behind a proxy.
+            String next = ServletUriComponentsBuilder.fromCurrentRequest().scheme(null).host(null).port(-1)
+                    .replaceQueryParam("cursor", page.nextCursor()).toUriString();
+            response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return response.body(page.items());
+    }
+
+    @GetMapping("/stats")
+    public TaskStats stats() {
+        return stats.stats();
+    }
+
+    @GetMapping("/search")
+    public List<TaskSearchHit> search(@RequestParam String q, @RequestParam Optional<Integer> limit) {
+        if (q.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Query must not be blank");
+        }
+        return search.search(q, Math.max(1, Math.min(limit.orElse(20), 100)));
+    }
+
+    @GetMapping("/changes")
+    public TaskChanges changes(@RequestParam Optional<String> since) {
+        return sync.changesSince(since.orElse(null));
+    }
+
+    // An emitter carries its own timeout, so only this response may run as long as a full export
+    // takes; every other async request keeps the MVC default. Exports run on their own bounded pool
+    // and are refused with 503 once it and its queue are full.
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ResponseBodyEmitter> stream() {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(streamTimeout.toMillis());
+        streamExecutor.execute(() -> {
+            try (OutputStream out = new BufferedOutputStream(new EmitterOutputStream(emitter), STREAM_BUFFER)) {
+                export.writeNdjson(out);
+            } catch (Exception ex) {
+                emitter.completeWithError(ex);
+                return;
+            }
+            emitter.complete();
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(emitter);
+    }
+
+    private static final class EmitterOutputStream extends OutputStream {
+
+        private final ResponseBodyEmitter emitter;
+
+        EmitterOutputStream(ResponseBodyEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            emitter.send(Arrays.copyOfRange(b, off, off + len), MediaType.APPLICATION_NDJSON);
+        }
     }
 
     @GetMapping("/{id}")
-    public TaskEntity getOne(@PathVariable Long id) {
-        return svc.getById(id);
+    public TaskView getOne(@PathVariable Long id, WebRequest request) {
+        TaskView t = svc.getById(id);
+        boolean notModified = t.updatedAt() == null
+                ? request.checkNotModified(etag(t))
+                : request.checkNotModified(etag(t),
+                        t.updatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        return notModified ? null : t;
     }
 
     @PostMapping
@@ -37,9 +176,30 @@ public class TaskController {
         return svc.create(in);
     }
 
+    @PostMapping("/batch")
+    public List<TaskBatchResult> createBatch(@RequestBody List<TaskEntity> items) {
+        return svc.createAll(items);
+    }
+
+    @PatchMapping("/bulk/complete")
+    public TaskBulkResult completeAll(@RequestBody List<Long> ids) {
+        return svc.markCompletedAll(ids, true);
+    }
+
+    @PatchMapping("/bulk/uncomplete")
+    public TaskBulkResult uncompleteAll(@RequestBody List<Long> ids) {
+        return svc.markCompletedAll(ids, false);
+    }
+
+    @PostMapping("/bulk/delete")
+    public TaskBulkResult deleteAll(@RequestBody List<Long> ids) {
+        return svc.deleteAll(ids);
+    }
+
     @PutMapping("/{id}")
-    public TaskEntity update(@PathVariable Long id, @Valid @RequestBody TaskEntity in) {
-        return svc.update(id, in);
+    public ResponseEntity<TaskEntity> update(@PathVariable Long id, @Valid @RequestBody TaskEntity in,
+                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return withEtag(svc.update(id, in, expectedVersion(ifMatch)));
     }
 
     @DeleteMapping("/{id}")
@@ -49,12 +209,42 @@ public class TaskController {
     }
 
     @PatchMapping("/{id}/complete")
-    public TaskEntity complete(@PathVariable Long id) {
-        return svc.markCompleted(id, true);
+    public ResponseEntity<TaskEntity> complete(@PathVariable Long id,
+                                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return withEtag(svc.markCompleted(id, true, expectedVersion(ifMatch)));
     }
 
     @PatchMapping("/{id}/uncomplete")
-    public TaskEntity uncomplete(@PathVariable Long id) {
-        return svc.markCompleted(id, false);
+    public ResponseEntity<TaskEntity> uncomplete(@PathVariable Long id,
+                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return withEtag(svc.markCompleted(id, false, expectedVersion(ifMatch)));
+    }
+
+    private static String etag(TaskEntity t) {
+        return "\"" + t.getVersion() + "\"";
+    }
+
+    private static String etag(TaskView t) {
+        return "\"" + t.version() + "\"";
+    }
+
+    private static ResponseEntity<TaskEntity> withEtag(TaskEntity t) {
+        return ResponseEntity.ok().eTag(etag(t)).body(t);
+    }
+
+    // If-Match carries an ETag from a previous read; "*" only requires the task to exist.
+    private static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Long.parseLong(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException ignored) {
+                // falls through to 412 like any other tag we never issued
+            }
+        }
+        throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Task has been modified");
     }
 }
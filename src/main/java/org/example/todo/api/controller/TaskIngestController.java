@@ -0,0 +1,58 @@
+package org.example.todo.api.controller;
+
+import jakarta.validation.Valid;
+import org.example.todo.model.TaskEntity;
+import org.example.todo.model.TaskIngestStatus;
+import org.example.todo.service.TaskIngestService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.NoSuchElementException;
+
+@RestController
+@RequestMapping("/api/tasks/ingest")
+@ConditionalOnProperty(prefix = "todo.tasks.ingest", name = "enabled", havingValue = "true")
+public class TaskIngestController {
+
+    private final TaskIngestService ingest;
+
+    public TaskIngestController(TaskIngestService ingest) {
+        this.ingest = ingest;
+    }
+
+    @PostMapping
+    public ResponseEntity<?> submit(@Valid @RequestBody TaskEntity in) {
+        TaskIngestStatus status = ingest.submit(in);
+        if (status == null) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body("Task ingest queue is full");
+        }
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}").build(status.id()))
+                .body(status);
+    }
+
+    // Once stored, Location points at the task itself.
+    @GetMapping("/{id}")
+    public ResponseEntity<TaskIngestStatus> status(@PathVariable long id) {
+        TaskIngestStatus status = ingest.status(id);
+        if (status == null) {
+            throw new NoSuchElementException("Unknown ingest id");
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (status.state() == TaskIngestStatus.State.STORED) {
+            response.location(ServletUriComponentsBuilder.fromCurrentContextPath().path("/api/tasks/{id}").build(id));
+        }
+        return response.body(status);
+    }
+}
@@ -0,0 +1,12 @@
+package org.example.todo.model;
+
+public record TaskBatchResult(int index, int status, TaskView task, String error) {
+
+    public static TaskBatchResult created(int index, TaskView task) {
+        return new TaskBatchResult(index, 201, task, null);
+    }
+
+    public static TaskBatchResult failed(int index, String error) {
+        return new TaskBatchResult(index, 400, null, error);
+    }
+}
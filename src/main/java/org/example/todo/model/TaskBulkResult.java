@@ -0,0 +1,6 @@
+package org.example.todo.model;
+
+import java.util.List;
+
+public record TaskBulkResult(List<Long> affected, List<Long> missing) {
+}
@@ -0,0 +1,8 @@
+package org.example.todo.model;
+
+import java.util.List;
+
+// hasMore: the token continues this delta; poll again with it right away instead of waiting.
+public record TaskChanges(boolean fullResync, String token, List<TaskView> updated, List<Long> deleted,
+                          boolean hasMore) {
+}
@@ -19,7 +19,8 @@ import java.time.LocalDateTime;
 public class TaskEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_id")
+    @SequenceGenerator(name = "task_id", sequenceName = "task_id_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -45,4 +46,7 @@ public class TaskEntity {
 
     @LastModifiedDate
     private LocalDateTime updatedAt;
+
+    @Version
+    private long version;
 }
\ No newline at end of file
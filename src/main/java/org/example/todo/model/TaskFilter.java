@@ -0,0 +1,21 @@
+package org.example.todo.model;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+public record TaskFilter(Set<TaskStatus> statuses,
+                         Set<TaskPriority> priorities,
+                         LocalDate deadlineFrom,
+                         LocalDate deadlineTo) {
+
+    public static final TaskFilter NONE = new TaskFilter(Set.of(), Set.of(), null, null);
+
+    public TaskFilter {
+        statuses = statuses == null ? Set.of() : Set.copyOf(statuses);
+        priorities = priorities == null ? Set.of() : Set.copyOf(priorities);
+    }
+
+    public boolean isEmpty() {
+        return statuses.isEmpty() && priorities.isEmpty() && deadlineFrom == null && deadlineTo == null;
+    }
+}
@@ -0,0 +1,18 @@
+package org.example.todo.model;
+
+public record TaskIngestStatus(long id, State state, String error) {
+
+    public enum State { QUEUED, STORED, FAILED }
+
+    public static TaskIngestStatus queued(long id) {
+        return new TaskIngestStatus(id, State.QUEUED, null);
+    }
+
+    public static TaskIngestStatus stored(long id) {
+        return new TaskIngestStatus(id, State.STORED, null);
+    }
+
+    public static TaskIngestStatus failed(long id, String error) {
+        return new TaskIngestStatus(id, State.FAILED, error);
+    }
+}
@@ -0,0 +1,4 @@
+package org.example.todo.model;
+
+public record TaskSearchHit(TaskView task, double rank) {
+}
@@ -0,0 +1,34 @@
+package org.example.todo.model;
+
+public enum TaskSort {
+    DEADLINE("d"),
+    CREATED("c"),
+    ID("i");
+
+    private final String code;
+
+    TaskSort(String code) {
+        this.code = code;
+    }
+
+    public String code() {
+        return code;
+    }
+
+    public static TaskSort of(String sortBy) {
+        return switch (sortBy) {
+            case "deadline" -> DEADLINE;
+            case "created" -> CREATED;
+            default -> ID;
+        };
+    }
+
+    public static TaskSort ofCode(String code) {
+        for (TaskSort s : values()) {
+            if (s.code.equals(code)) {
+                return s;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,9 @@
+package org.example.todo.model;
+
+import java.util.Map;
+
+public record TaskStats(long total,
+                        Map<TaskStatus, Long> byStatus,
+                        Map<TaskPriority, Long> byPriority,
+                        long overdue) {
+}
@@ -0,0 +1,29 @@
+package org.example.todo.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "task_tombstones")
+public class TaskTombstone {
+
+    @Id
+    @Column(name = "task_id")
+    private Long taskId;
+
+    @Column(nullable = false)
+    private LocalDateTime deletedAt;
+
+    public TaskTombstone(Long taskId, LocalDateTime deletedAt) {
+        this.taskId = taskId;
+        this.deletedAt = deletedAt;
+    }
+}
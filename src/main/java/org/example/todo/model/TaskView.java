@@ -0,0 +1,20 @@
+package org.example.todo.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public record TaskView(Long id,
+                       String title,
+                       String description,
+                       LocalDate deadline,
+                       TaskStatus status,
+                       TaskPriority priority,
+                       LocalDateTime createdAt,
+                       LocalDateTime updatedAt,
+                       long version) {
+
+    public static TaskView from(TaskEntity t) {
+        return new TaskView(t.getId(), t.getTitle(), t.getDescription(), t.getDeadline(),
+                t.getStatus(), t.getPriority(), t.getCreatedAt(), t.getUpdatedAt(), t.getVersion());
+    }
+}
@@ -0,0 +1,30 @@
+package org.example.todo.repository;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+
+// Replaces Boot's Hikari data source only when a limit is configured (see application-virtual.properties);
+// Hikari is still built from spring.datasource.* and spring.datasource.hikari.*.
+@Configuration
+@ConditionalOnProperty(prefix = "todo.datasource", name = "max-concurrency")
+public class ConnectionLimitConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource hikariDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource hikariDataSource, ConnectionLimitProperties limits) {
+        return new ConcurrencyLimitingDataSource(hikariDataSource, limits.maxConcurrency(), limits.acquireTimeout());
+    }
+}
@@ -0,0 +1,11 @@
+package org.example.todo.repository;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "todo.datasource")
+public record ConnectionLimitProperties(int maxConcurrency,
+                                        @DefaultValue("10s") Duration acquireTimeout) {
+}
@@ -0,0 +1,51 @@
+package org.example.todo.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.todo.model.TaskEntity;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.enhanced.PooledOptimizer;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+// Hands out task ids ahead of the insert. Uses Hibernate's pooled convention on task_id_seq: each
+// nextval is the last id of a block of ids, so blocks taken here never overlap the ones Hibernate
+// takes for TaskEntity. Sequence and block size are read from TaskEntity's mapping.
+@Component
+public class TaskIdAllocator {
+
+    private final JdbcTemplate jdbc;
+    private final String nextval;
+    private final int block;
+    // Not synchronized: the nextval call would pin a virtual thread to its carrier.
+    private final ReentrantLock lock = new ReentrantLock();
+    private long next = 1;
+    private long last = 0;
+
+    public TaskIdAllocator(JdbcTemplate jdbc, EntityManagerFactory emf) {
+        this.jdbc = jdbc;
+        SessionFactoryImplementor sf = emf.unwrap(SessionFactoryImplementor.class);
+        if (!(sf.getMappingMetamodel().getEntityDescriptor(TaskEntity.class).getGenerator() instanceof SequenceStyleGenerator generator)
+                || !(generator.getOptimizer() instanceof PooledOptimizer)) {
+            throw new IllegalStateException("TaskEntity ids must come from a sequence with the pooled optimizer");
+        }
+        this.block = generator.getDatabaseStructure().getIncrementSize();
+        this.nextval = sf.getJdbcServices().getDialect().getSequenceSupport()
+                .getSequenceNextValString(generator.getDatabaseStructure().getPhysicalName().render());
+    }
+
+    public long next() {
+        lock.lock();
+        try {
+            if (next > last) {
+                last = jdbc.queryForObject(nextval, Long.class);
+                next = last - block + 1;
+            }
+            return next++;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
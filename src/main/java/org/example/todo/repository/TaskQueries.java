@@ -0,0 +1,25 @@
+package org.example.todo.repository;
+
+import org.example.todo.model.TaskFilter;
+import org.example.todo.model.TaskSort;
+import org.example.todo.model.TaskStatus;
+import org.example.todo.model.TaskView;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface TaskQueries {
+    // Keyset page of a filtered list: rows after (afterId, afterDeadline | afterCreatedAt) in sort order;
+    // afterId null starts from the first row.
+    List<TaskView> findViews(TaskFilter filter, TaskSort sort, Long afterId, LocalDate afterDeadline,
+                             LocalDateTime afterCreatedAt, Limit limit);
+
+    // Both return the row as it was before the statement; empty when no row matched.
+    Optional<TaskView> updateCompletion(long id, TaskStatus late, TaskStatus onTime,
+                                        LocalDate today, LocalDateTime now, Long expectedVersion);
+
+    Optional<TaskView> deleteReturning(long id);
+}
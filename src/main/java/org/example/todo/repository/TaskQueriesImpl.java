@@ -0,0 +1,158 @@
+package org.example.todo.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.example.todo.model.TaskEntity;
+import org.example.todo.model.TaskFilter;
+import org.example.todo.model.TaskPriority;
+import org.example.todo.model.TaskSort;
+import org.example.todo.model.TaskStatus;
+import org.example.todo.model.TaskView;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+class TaskQueriesImpl implements TaskQueries {
+
+    private static final String COLUMNS =
+            "id, title, description, deadline, status, priority, created_at, updated_at, version";
+    private static final String OLD_COLUMNS =
+            "o.id, o.title, o.description, o.deadline, o.status, o.priority, o.created_at, o.updated_at, o.version";
+    private static final String COMPLETION = "status = CASE WHEN t.deadline < :today THEN :late ELSE :onTime END, "
+            + "updated_at = :now, version = t.version + 1";
+    private static final String EXPECTED_VERSION = " AND t.version = :expected";
+
+    // PostgreSQL reads the pre-update row from a locked self-join, H2 from its OLD TABLE delta.
+    private static final String UPDATE_COMPLETION_POSTGRES = "UPDATE tasks t SET " + COMPLETION
+            + " FROM (SELECT * FROM tasks WHERE id = :id FOR UPDATE) o WHERE t.id = o.id";
+    private static final String RETURNING_OLD = " RETURNING " + OLD_COLUMNS;
+    private static final String UPDATE_COMPLETION_H2 = "UPDATE tasks t SET " + COMPLETION + " WHERE t.id = :id";
+    private static final String DELETE_POSTGRES = "DELETE FROM tasks WHERE id = :id RETURNING " + COLUMNS;
+    private static final String DELETE_H2 = "SELECT " + COLUMNS + " FROM OLD TABLE (DELETE FROM tasks WHERE id = :id)";
+
+    private final EntityManager em;
+
+    TaskQueriesImpl(EntityManager em) {
+        this.em = em;
+    }
+
+    @Override
+    public List<TaskView> findViews(TaskFilter filter, TaskSort sort, Long afterId, LocalDate afterDeadline,
+                                    LocalDateTime afterCreatedAt, Limit limit) {
+        HibernateCriteriaBuilder cb = (HibernateCriteriaBuilder) em.getCriteriaBuilder();
+        CriteriaQuery<TaskView> q = cb.createQuery(TaskView.class);
+        Root<TaskEntity> t = q.from(TaskEntity.class);
+        q.select(cb.construct(TaskView.class,
+                t.get("id"), t.get("title"), t.get("description"), t.get("deadline"),
+                t.get("status"), t.get("priority"), t.get("createdAt"), t.get("updatedAt"), t.get("version")));
+
+        List<Predicate> where = new ArrayList<>();
+        if (!filter.statuses().isEmpty()) {
+            where.add(t.get("status").in(filter.statuses()));
+        }
+        if (!filter.priorities().isEmpty()) {
+            where.add(t.get("priority").in(filter.priorities()));
+        }
+        if (filter.deadlineFrom() != null) {
+            where.add(cb.greaterThanOrEqualTo(t.get("deadline"), filter.deadlineFrom()));
+        }
+        if (filter.deadlineTo() != null) {
+            where.add(cb.lessThanOrEqualTo(t.get("deadline"), filter.deadlineTo()));
+        }
+        if (afterId != null) {
+            where.add(after(cb, t, sort, afterId, afterDeadline, afterCreatedAt));
+        }
+        q.where(where.toArray(Predicate[]::new));
+
+        switch (sort) {
+            case DEADLINE -> q.orderBy(cb.asc(t.get("deadline"), false), cb.asc(t.get("id")));
+            case CREATED -> q.orderBy(cb.desc(t.get("createdAt")), cb.desc(t.get("id")));
+            case ID -> q.orderBy(cb.asc(t.get("id")));
+        }
+        TypedQuery<TaskView> query = em.createQuery(q);
+        if (limit.isLimited()) {
+            query.setMaxResults(limit.max());
+        }
+        return query.getResultList();
+    }
+
+    // Rows strictly after the cursor in sort order; deadlines sort nulls last, so a cursor on a null
+    // deadline only continues among the null deadlines.
+    private static Predicate after(HibernateCriteriaBuilder cb, Root<TaskEntity> t, TaskSort sort, long afterId,
+                                   LocalDate afterDeadline, LocalDateTime afterCreatedAt) {
+        return switch (sort) {
+            case ID -> cb.greaterThan(t.<Long>get("id"), afterId);
+            case CREATED -> cb.or(
+                    cb.lessThan(t.<LocalDateTime>get("createdAt"), afterCreatedAt),
+                    cb.and(cb.equal(t.<LocalDateTime>get("createdAt"), afterCreatedAt), cb.lessThan(t.<Long>get("id"), afterId)));
+            case DEADLINE -> afterDeadline == null
+                    ? cb.and(cb.isNull(t.<LocalDate>get("deadline")), cb.greaterThan(t.<Long>get("id"), afterId))
+                    : cb.or(
+                            cb.greaterThan(t.<LocalDate>get("deadline"), afterDeadline),
+                            cb.and(cb.equal(t.<LocalDate>get("deadline"), afterDeadline), cb.greaterThan(t.<Long>get("id"), afterId)),
+                            cb.isNull(t.<LocalDate>get("deadline")));
+        };
+    }
+
+    @Override
+    public Optional<TaskView> updateCompletion(long id, TaskStatus late, TaskStatus onTime,
+                                               LocalDate today, LocalDateTime now, Long expectedVersion) {
+        String condition = expectedVersion == null ? "" : EXPECTED_VERSION;
+        String sql = postgres()
+                ? UPDATE_COMPLETION_POSTGRES + condition + RETURNING_OLD
+                : "SELECT " + COLUMNS + " FROM OLD TABLE (" + UPDATE_COMPLETION_H2 + condition + ")";
+        NativeQuery<Object[]> query = returning(sql);
+        if (expectedVersion != null) {
+            query.setParameter("expected", expectedVersion);
+        }
+        return single(query
+                .setParameter("id", id)
+                .setParameter("late", late.name())
+                .setParameter("onTime", onTime.name())
+                .setParameter("today", today)
+                .setParameter("now", now));
+    }
+
+    @Override
+    public Optional<TaskView> deleteReturning(long id) {
+        return single(returning(postgres() ? DELETE_POSTGRES : DELETE_H2).setParameter("id", id));
+    }
+
+    private boolean postgres() {
+        return em.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+    }
+
+    @SuppressWarnings("unchecked")
+    private NativeQuery<Object[]> returning(String sql) {
+        return em.createNativeQuery(sql).unwrap(NativeQuery.class)
+                .addScalar("id", Long.class)
+                .addScalar("title", String.class)
+                .addScalar("description", String.class)
+                .addScalar("deadline", LocalDate.class)
+                .addScalar("status", String.class)
+                .addScalar("priority", String.class)
+                .addScalar("created_at", LocalDateTime.class)
+                .addScalar("updated_at", LocalDateTime.class)
+                .addScalar("version", Long.class);
+    }
+
+    private static Optional<TaskView> single(NativeQuery<Object[]> query) {
+        return query.getResultList().stream().findFirst().map(r -> new TaskView(
+                (Long) r[0], (String) r[1], (String) r[2], (LocalDate) r[3],
+                TaskStatus.valueOf((String) r[4]),
+                r[5] == null ? null : TaskPriority.valueOf((String) r[5]),
+                (LocalDateTime) r[6], (LocalDateTime) r[7], (Long) r[8]));
+    }
+}
@@ -1,19 +1,104 @@
 package org.example.todo.repository;
 
 import com.sun.jdi.connect.spi.Connection;
+import jakarta.persistence.QueryHint;
 import org.example.todo.model.TaskEntity;
+import org.example.todo.model.TaskStatus;
+import org.example.todo.model.TaskView;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
-public interface TaskRepository extends JpaRepository<TaskEntity, Long> {
-    List<TaskEntity> findAllByOrderByDeadlineAsc();
-    List<TaskEntity> findAllByOrderByCreatedAtDesc();
+public interface TaskRepository extends JpaRepository<TaskEntity, Long>, TaskQueries {
+    String VIEW = """
+            select new org.example.todo.model.TaskView(
+                t.id, t.title, t.description, t.deadline, t.status, t.priority, t.createdAt, t.updatedAt, t.version)
+            from TaskEntity t
+            """;
+
+    @Query(VIEW + "where t.id in :ids")
+    List<TaskView> findViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(VIEW + """
+            where (t.updatedAt > :at or (t.updatedAt = :at and t.id > :id)) and t.updatedAt <= :until
+            order by t.updatedAt asc, t.id asc""")
+    List<TaskView> findChangedAfter(@Param("at") LocalDateTime at, @Param("id") long afterId,
+                                    @Param("until") LocalDateTime until, Limit limit);
+
+    @Query("select count(t) from TaskEntity t where t.updatedAt >= :since and t.updatedAt <= :until")
+    long countChangedBetween(@Param("since") LocalDateTime since, @Param("until") LocalDateTime until);
+
+    @Query("select min(t.id), max(t.id) from TaskEntity t where t.status = :status and t.deadline < :day")
+    List<Object[]> findIdRangeByStatusAndDeadlineBefore(@Param("status") TaskStatus status,
+                                                        @Param("day") LocalDate day);
+
+    @Modifying
+    @Query("""
+            update TaskEntity t set t.status = :overdue, t.updatedAt = :now, t.version = t.version + 1
+            where t.status = :active and t.deadline < :today and t.id between :from and :to""")
+    int markOverdue(@Param("active") TaskStatus active, @Param("overdue") TaskStatus overdue,
+                    @Param("today") LocalDate today, @Param("now") LocalDateTime now,
+                    @Param("from") long fromId, @Param("to") long toId);
+
+    @Modifying
+    @Query("""
+            update TaskEntity t set t.status = :overdue, t.updatedAt = :now, t.version = t.version + 1
+            where t.status = :active and t.deadline < :today and t.id in :ids""")
+    int markOverdueByIds(@Param("active") TaskStatus active, @Param("overdue") TaskStatus overdue,
+                         @Param("today") LocalDate today, @Param("now") LocalDateTime now,
+                         @Param("ids") Collection<Long> ids);
+
+    @Query("""
+            select t.id, t.deadline from TaskEntity t
+            where t.status = :status and t.deadline >= :from and t.deadline < :to
+            order by t.deadline, t.id""")
+    List<Object[]> findDeadlinesBetween(@Param("status") TaskStatus status, @Param("from") LocalDate from,
+                                        @Param("to") LocalDate to, Limit limit);
+
+    @Modifying
+    @Query("""
+            update TaskEntity t
+            set t.status = case when t.deadline < :today then :late else :onTime end, t.updatedAt = :now,
+                t.version = t.version + 1
+            where t.id in :ids""")
+    int setStatusByDeadline(@Param("ids") Collection<Long> ids, @Param("late") TaskStatus late,
+                            @Param("onTime") TaskStatus onTime, @Param("today") LocalDate today,
+                            @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("delete from TaskEntity t where t.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select t.status, count(t) from TaskEntity t group by t.status")
+    List<Object[]> countByStatus();
+
+    @Query("select t.priority, count(t) from TaskEntity t group by t.priority")
+    List<Object[]> countByPriority();
 
+    @Query("select t from TaskEntity t order by t.id asc")
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    Stream<TaskEntity> streamAllByOrderByIdAsc();
 }
@@ -0,0 +1,42 @@
+package org.example.todo.repository;
+
+import org.example.todo.model.TaskTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TaskTombstoneRepository extends JpaRepository<TaskTombstone, Long> {
+
+    @Query("""
+            select t from TaskTombstone t
+            where (t.deletedAt > :at or (t.deletedAt = :at and t.taskId > :id)) and t.deletedAt <= :until
+            order by t.deletedAt, t.taskId""")
+    List<TaskTombstone> findDeletedAfter(@Param("at") LocalDateTime at, @Param("id") long afterId,
+                                         @Param("until") LocalDateTime until, Limit limit);
+
+    @Query("select count(t) from TaskTombstone t where t.deletedAt >= :since and t.deletedAt <= :until")
+    long countDeletedBetween(@Param("since") LocalDateTime since, @Param("until") LocalDateTime until);
+
+    // Task ids are never reused, so a plain insert is enough and skips the lookup save() would merge with.
+    @Modifying
+    @Query(value = "insert into task_tombstones (task_id, deleted_at) values (:id, :at)", nativeQuery = true)
+    void insert(@Param("id") long taskId, @Param("at") LocalDateTime deletedAt);
+
+    // A whole bulk delete in one statement; runs before the DELETE, while the rows can still be selected.
+    @Modifying
+    @Query(value = "insert into task_tombstones (task_id, deleted_at) select id, :at from tasks where id in (:ids)",
+            nativeQuery = true)
+    int insertForTasks(@Param("ids") Collection<Long> taskIds, @Param("at") LocalDateTime deletedAt);
+
+    @Modifying
+    @Query("delete from TaskTombstone t where t.deletedAt < :before")
+    int deleteOlderThan(@Param("before") LocalDateTime before);
+}
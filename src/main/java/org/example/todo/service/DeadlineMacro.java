@@ -0,0 +1,122 @@
+package org.example.todo.service;
+
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.List;
+
+// "!before D.M.YYYY" (or with '-'). Every match is removed, the first one decides the deadline.
+@Component
+public class DeadlineMacro implements TitleMacro {
+
+    static final String BEFORE = "!before";
+
+    @Override
+    public List<String> triggers() {
+        return List.of(BEFORE);
+    }
+
+    // Mirrors !before\s+(\d{1,2}[.\-]\d{1,2}[.\-]\d{4}).
+    @Override
+    public int match(char[] s, int from, int len) {
+        int p = from + BEFORE.length();
+        int ws = p;
+        while (p < len && isSpace(s[p])) {
+            p++;
+        }
+        if (p == ws) {
+            return -1;
+        }
+        p = numberThenSeparator(s, p, len);
+        if (p < 0) {
+            return -1;
+        }
+        p = numberThenSeparator(s, p, len);
+        if (p < 0 || p + 4 > len) {
+            return -1;
+        }
+        for (int k = p; k < p + 4; k++) {
+            if (!isDigit(s[k])) {
+                return -1;
+            }
+        }
+        return p + 4;
+    }
+
+    @Override
+    public boolean apply(TitleMacroContext ctx, char[] s, int from, int end) {
+        if (ctx.claimDeadline() && !ctx.deadlineSet()) {
+            int p = from + BEFORE.length();
+            while (isSpace(s[p])) {
+                p++;
+            }
+            LocalDate deadline = parseDate(s, p, end);
+            if (deadline != null) {
+                ctx.deadline(deadline);
+            } else {
+                ctx.invalidDate(new String(s, p, end - p));
+            }
+        }
+        return true;
+    }
+
+    // One or two digits followed by '.' or '-'; greedy with backtracking reduces to this check.
+    private static int numberThenSeparator(char[] s, int p, int len) {
+        if (p >= len || !isDigit(s[p])) {
+            return -1;
+        }
+        if (p + 1 < len && isSeparator(s[p + 1])) {
+            return p + 2;
+        }
+        if (p + 2 < len && isDigit(s[p + 1]) && isSeparator(s[p + 2])) {
+            return p + 3;
+        }
+        return -1;
+    }
+
+    // Same outcome as LocalDate.parse with "d.MM.uuuu", falling back to "d-MM-uuuu", in SMART mode.
+    private static LocalDate parseDate(char[] s, int from, int end) {
+        int p = from;
+        int day = s[p++] - '0';
+        if (isDigit(s[p])) {
+            day = day * 10 + (s[p++] - '0');
+        }
+        char sep = s[p++];
+        if (!isDigit(s[p]) || !isDigit(s[p + 1]) || s[p + 2] != sep) {
+            return null;
+        }
+        int month = (s[p] - '0') * 10 + (s[p + 1] - '0');
+        p += 3;
+        int year = 0;
+        for (; p < end; p++) {
+            year = year * 10 + (s[p] - '0');
+        }
+        if (day < 1 || day > 31 || month < 1 || month > 12) {
+            return null;
+        }
+        int length = switch (month) {
+            case 2 -> Year.isLeap(year) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+        return LocalDate.of(year, month, Math.min(day, length));
+    }
+
+    static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == '.' || c == '-';
+    }
+
+    static boolean isSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    // A word macro must not run into the next word: "!tomorrow" matches, "!tomorrows" does not.
+    static boolean wordEnds(char[] s, int p, int len) {
+        return p == len || !Character.isLetterOrDigit(s[p]);
+    }
+}
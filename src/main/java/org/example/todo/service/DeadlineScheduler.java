@@ -0,0 +1,184 @@
+package org.example.todo.service;
+
+import org.example.todo.model.TaskStatus;
+import org.example.todo.model.TaskView;
+import org.example.todo.repository.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+public class DeadlineScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(DeadlineScheduler.class);
+    private static final int FIRE_BATCH = 500;
+
+    private final TaskRepository repo;
+    private final TransactionTemplate tx;
+    private final ApplicationEventPublisher events;
+    private final int maxEntries;
+    private final ReentrantLock lock = new ReentrantLock();
+    private DeadlineWheel wheel = new DeadlineWheel(LocalDate.now().toEpochDay());
+    // Active deadlines firing on or after this day are left in the database until the wheel gets close.
+    private long horizon = wheel.current() + 1;
+
+    public DeadlineScheduler(TaskRepository repo, TransactionTemplate tx, ApplicationEventPublisher events,
+                             @Value("${todo.deadlines.max-entries:100000}") int maxEntries) {
+        this.repo = repo;
+        this.tx = tx;
+        this.events = events;
+        this.maxEntries = maxEntries;
+    }
+
+    public int scheduled() {
+        lock.lock();
+        try {
+            return wheel.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        lock.lock();
+        try {
+            wheel = new DeadlineWheel(LocalDate.now().toEpochDay());
+            horizon = wheel.current() + 1;
+            pageIn();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.id() == null) {
+            return;
+        }
+        TaskView t = event.after();
+        lock.lock();
+        try {
+            wheel.remove(event.id());
+            if (t == null || t.status() != TaskStatus.Active || t.deadline() == null) {
+                return;
+            }
+            long fireDay = fireDay(t.deadline());
+            if (fireDay >= horizon) {
+                return;
+            }
+            if (wheel.size() >= maxEntries) {
+                // Full: shrink the window so this deadline is paged in again later instead of dropped.
+                horizon = fireDay;
+                return;
+            }
+            wheel.add(event.id(), fireDay);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Scheduled(cron = "${todo.deadlines.tick-cron:0 0 0 * * *}")
+    public void tick() {
+        advanceTo(LocalDate.now());
+    }
+
+    public int advanceTo(LocalDate today) {
+        long target = today.toEpochDay();
+        List<Long> due = new ArrayList<>();
+        int changed = 0;
+        lock.lock();
+        try {
+            while (wheel.current() < target) {
+                due.addAll(wheel.advance());
+                if (horizon - wheel.current() <= DeadlineWheel.SLOTS) {
+                    // Fire first: ids still Active in the database would otherwise fill the next page.
+                    changed += fire(due, today);
+                    due = pageIn();
+                }
+            }
+            changed += fire(due, today);
+        } finally {
+            lock.unlock();
+        }
+        return changed;
+    }
+
+    // Returns the paged-in ids whose fire day the wheel has already passed, for the caller to fire.
+    private List<Long> pageIn() {
+        List<Long> late = new ArrayList<>();
+        long limit = wheel.limit();
+        while (horizon < limit) {
+            int capacity = maxEntries - wheel.size();
+            if (capacity <= 0) {
+                break;
+            }
+            List<Object[]> rows = repo.findDeadlinesBetween(TaskStatus.Active,
+                    LocalDate.ofEpochDay(horizon - 1), LocalDate.ofEpochDay(limit - 1), Limit.of(capacity + 1));
+            long next = limit;
+            if (rows.size() > capacity) {
+                // Never keep part of a day: the cut-off day is loaded whole on a later page.
+                next = fireDay((LocalDate) rows.get(capacity)[1]);
+                if (next == fireDay((LocalDate) rows.get(0)[1])) {
+                    // A single day over the cap would pin the horizon; skip it and leave it to OverdueSweeper.
+                    log.warn("More than {} deadlines fire on {}, leaving them to the overdue sweep",
+                            capacity, LocalDate.ofEpochDay(next));
+                    horizon = next + 1;
+                    continue;
+                }
+            }
+            for (Object[] row : rows) {
+                long fireDay = fireDay((LocalDate) row[1]);
+                if (fireDay >= next) {
+                    break;
+                }
+                if (fireDay <= wheel.current()) {
+                    late.add((Long) row[0]);
+                } else {
+                    wheel.add((Long) row[0], fireDay);
+                }
+            }
+            horizon = next;
+            return late;
+        }
+        return late;
+    }
+
+    private int fire(List<Long> ids, LocalDate today) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        int changed = 0;
+        for (int i = 0; i < ids.size(); i += FIRE_BATCH) {
+            List<Long> batch = ids.subList(i, Math.min(i + FIRE_BATCH, ids.size()));
+            // Stamped per batch, like the sweeper's chunks, so later batches don't land behind /changes tokens.
+            Integer n = tx.execute(s -> repo.markOverdueByIds(TaskStatus.Active, TaskStatus.Overdue, today,
+                    LocalDateTime.now().truncatedTo(ChronoUnit.MICROS), batch));
+            changed += n == null ? 0 : n;
+        }
+        if (changed > 0) {
+            events.publishEvent(TaskChangedEvent.unknown());
+        }
+        log.info("Deadline wheel fired {} tasks, {} marked overdue", ids.size(), changed);
+        return changed;
+    }
+
+    private static long fireDay(LocalDate deadline) {
+        return deadline.toEpochDay() + 1;
+    }
+}
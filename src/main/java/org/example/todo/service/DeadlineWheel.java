@@ -0,0 +1,98 @@
+package org.example.todo.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Two-level hierarchical timing wheel over epoch days: level 0 holds the next 64 days one slot per day,
+// level 1 holds the following 64 blocks of 64 days and cascades into level 0 at each block boundary.
+// Not thread-safe; DeadlineScheduler guards it.
+class DeadlineWheel {
+
+    static final int SLOTS = 64;
+
+    private final List<Set<Long>> days = buckets();
+    private final List<Set<Long>> blocks = buckets();
+    private final Map<Long, Long> fireDays = new HashMap<>();
+    private long current;
+
+    DeadlineWheel(long current) {
+        this.current = current;
+    }
+
+    private static List<Set<Long>> buckets() {
+        List<Set<Long>> list = new ArrayList<>(SLOTS);
+        for (int i = 0; i < SLOTS; i++) {
+            list.add(new HashSet<>());
+        }
+        return list;
+    }
+
+    long current() {
+        return current;
+    }
+
+    int size() {
+        return fireDays.size();
+    }
+
+    // First epoch day the wheel can no longer hold without wrapping onto a level 1 slot still in use.
+    long limit() {
+        return (Math.floorDiv(current, SLOTS) + SLOTS) * SLOTS;
+    }
+
+    boolean add(long id, long fireDay) {
+        remove(id);
+        if (fireDay <= current || fireDay >= limit()) {
+            return false;
+        }
+        fireDays.put(id, fireDay);
+        place(id, fireDay);
+        return true;
+    }
+
+    void remove(long id) {
+        Long fireDay = fireDays.remove(id);
+        if (fireDay != null) {
+            days.get(daySlot(fireDay)).remove(id);
+            blocks.get(blockSlot(fireDay)).remove(id);
+        }
+    }
+
+    // Moves the wheel one day forward and returns the ids whose fire day has been reached.
+    List<Long> advance() {
+        current++;
+        if (Math.floorMod(current, SLOTS) == 0) {
+            Set<Long> block = blocks.get(blockSlot(current));
+            List<Long> cascading = new ArrayList<>(block);
+            block.clear();
+            for (Long id : cascading) {
+                place(id, fireDays.get(id));
+            }
+        }
+        Set<Long> due = days.get(daySlot(current));
+        List<Long> fired = new ArrayList<>(due);
+        due.clear();
+        fired.forEach(fireDays::remove);
+        return fired;
+    }
+
+    private void place(long id, long fireDay) {
+        if (fireDay - current < SLOTS) {
+            days.get(daySlot(fireDay)).add(id);
+        } else {
+            blocks.get(blockSlot(fireDay)).add(id);
+        }
+    }
+
+    private static int daySlot(long day) {
+        return Math.floorMod(day, SLOTS);
+    }
+
+    private static int blockSlot(long day) {
+        return Math.floorMod(Math.floorDiv(day, SLOTS), SLOTS);
+    }
+}
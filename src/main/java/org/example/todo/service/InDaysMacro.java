@@ -0,0 +1,53 @@
+package org.example.todo.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// "!in 3d" or "!in 2w": a deadline relative to today, up to four digits.
+@Component
+public class InDaysMacro implements TitleMacro {
+
+    private static final String IN = "!in";
+
+    @Override
+    public List<String> triggers() {
+        return List.of(IN);
+    }
+
+    @Override
+    public int match(char[] s, int from, int len) {
+        int p = from + IN.length();
+        int ws = p;
+        while (p < len && DeadlineMacro.isSpace(s[p])) {
+            p++;
+        }
+        if (p == ws) {
+            return -1;
+        }
+        int digits = p;
+        while (p < len && p - digits < 4 && DeadlineMacro.isDigit(s[p])) {
+            p++;
+        }
+        if (p == digits || p >= len || (s[p] != 'd' && s[p] != 'w')) {
+            return -1;
+        }
+        return DeadlineMacro.wordEnds(s, p + 1, len) ? p + 1 : -1;
+    }
+
+    @Override
+    public boolean apply(TitleMacroContext ctx, char[] s, int from, int end) {
+        if (ctx.claimDeadline() && !ctx.deadlineSet()) {
+            int amount = 0;
+            int p = from + IN.length();
+            while (DeadlineMacro.isSpace(s[p])) {
+                p++;
+            }
+            for (; p < end - 1; p++) {
+                amount = amount * 10 + (s[p] - '0');
+            }
+            ctx.deadline(s[end - 1] == 'w' ? ctx.today().plusWeeks(amount) : ctx.today().plusDays(amount));
+        }
+        return true;
+    }
+}
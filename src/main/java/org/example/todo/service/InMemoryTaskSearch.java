@@ -0,0 +1,156 @@
+package org.example.todo.service;
+
+import org.example.todo.model.TaskEntity;
+import org.example.todo.model.TaskSearchHit;
+import org.example.todo.model.TaskView;
+import org.example.todo.repository.TaskRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class InMemoryTaskSearch implements TaskSearch {
+
+    private final TaskRepository repo;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    private final Map<Long, Map<String, Integer>> documents = new HashMap<>();
+
+    public InMemoryTaskSearch(TaskRepository repo) {
+        this.repo = repo;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try (Stream<TaskEntity> tasks = repo.streamAllByOrderByIdAsc()) {
+            postings.clear();
+            documents.clear();
+            tasks.forEach(t -> index(t.getId(), t.getTitle(), t.getDescription()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.id() == null) {
+            return;
+        }
+        TaskView t = event.after();
+        lock.writeLock().lock();
+        try {
+            remove(event.id());
+            if (t != null) {
+                index(t.id(), t.title(), t.description());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<TaskSearchHit> search(String query, int limit) {
+        List<String> terms = tokenize(query).distinct().toList();
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Double> scores;
+        lock.readLock().lock();
+        try {
+            List<Map<Long, Integer>> lists = new ArrayList<>();
+            for (String term : terms) {
+                Map<Long, Integer> list = postings.get(term);
+                if (list == null) {
+                    return List.of();
+                }
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(Map::size));
+            int n = documents.size();
+            scores = new HashMap<>();
+            for (Map.Entry<Long, Integer> e : lists.get(0).entrySet()) {
+                double score = 0;
+                for (Map<Long, Integer> list : lists) {
+                    Integer tf = list.get(e.getKey());
+                    if (tf == null) {
+                        score = -1;
+                        break;
+                    }
+                    score += tf * Math.log(1 + (double) n / list.size());
+                }
+                if (score >= 0) {
+                    scores.put(e.getKey(), score);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Long> ids = scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, TaskView> views = repo.findViewsByIdIn(ids).stream()
+                .collect(Collectors.toMap(TaskView::id, Function.identity()));
+        return ids.stream()
+                .filter(views::containsKey)
+                .map(id -> new TaskSearchHit(views.get(id), scores.get(id)))
+                .toList();
+    }
+
+    private void index(Long id, String title, String description) {
+        Map<String, Integer> terms = new HashMap<>();
+        Stream.concat(tokenize(title), tokenize(description)).forEach(term -> terms.merge(term, 1, Integer::sum));
+        documents.put(id, terms);
+        terms.forEach((term, tf) -> postings.computeIfAbsent(term, k -> new HashMap<>()).put(id, tf));
+    }
+
+    private void remove(Long id) {
+        Map<String, Integer> terms = documents.remove(id);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms.keySet()) {
+            Map<Long, Integer> list = postings.get(term);
+            list.remove(id);
+            if (list.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    static Stream<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return Stream.empty();
+        }
+        List<String> out = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean word = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (word && start < 0) {
+                start = i;
+            } else if (!word && start >= 0) {
+                out.add(text.substring(start, i).toLowerCase());
+                start = -1;
+            }
+        }
+        return out.stream();
+    }
+}
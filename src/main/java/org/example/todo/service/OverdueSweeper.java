@@ -0,0 +1,74 @@
+package org.example.todo.service;
+
+import org.example.todo.model.TaskStatus;
+import org.example.todo.repository.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+@Component
+public class OverdueSweeper {
+
+    private static final Logger log = LoggerFactory.getLogger(OverdueSweeper.class);
+
+    private final TaskRepository repo;
+    private final TransactionTemplate tx;
+    private final ApplicationEventPublisher events;
+    private final int chunkSize;
+
+    public OverdueSweeper(TaskRepository repo, TransactionTemplate tx, ApplicationEventPublisher events,
+                          @Value("${todo.overdue.chunk-size:1000}") int chunkSize) {
+        this.repo = repo;
+        this.tx = tx;
+        this.events = events;
+        this.chunkSize = chunkSize;
+    }
+
+    public record SweepResult(int changed, Duration took) {
+    }
+
+    // Void on purpose: a non-void @EventListener would have its SweepResult published as an event.
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${todo.overdue.sweep-cron:5 0 0 * * *}")
+    public void scheduledSweep() {
+        sweep();
+    }
+
+    // Each id range is its own short transaction, so row locks are never held for the whole sweep. Each
+    // range is stamped inside its own transaction: a stamp taken once for the whole sweep would put the
+    // later ranges behind /changes tokens issued while the earlier ones ran.
+    public SweepResult sweep() {
+        long start = System.nanoTime();
+        LocalDate today = LocalDate.now();
+        Object[] range = repo.findIdRangeByStatusAndDeadlineBefore(TaskStatus.Active, today).get(0);
+        int changed = 0;
+        if (range[0] != null) {
+            long min = (Long) range[0];
+            long max = (Long) range[1];
+            for (long lo = min; lo <= max; lo += chunkSize) {
+                long from = lo;
+                long to = Math.min(lo + chunkSize - 1, max);
+                Integer n = tx.execute(s -> repo.markOverdue(TaskStatus.Active, TaskStatus.Overdue, today,
+                        LocalDateTime.now().truncatedTo(ChronoUnit.MICROS), from, to));
+                changed += n == null ? 0 : n;
+            }
+        }
+        SweepResult result = new SweepResult(changed, Duration.ofNanos(System.nanoTime() - start));
+        if (changed > 0) {
+            events.publishEvent(TaskChangedEvent.unknown());
+        }
+        log.info("Overdue sweep marked {} tasks in {} ms", result.changed(), result.took().toMillis());
+        return result;
+    }
+}
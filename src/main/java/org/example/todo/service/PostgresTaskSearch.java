@@ -0,0 +1,53 @@
+package org.example.todo.service;
+
+import org.example.todo.model.TaskPriority;
+import org.example.todo.model.TaskSearchHit;
+import org.example.todo.model.TaskStatus;
+import org.example.todo.model.TaskView;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.List;
+
+public class PostgresTaskSearch implements TaskSearch {
+
+    private static final String SQL = """
+            SELECT t.id, t.title, t.description, t.deadline, t.status, t.priority, t.created_at, t.updated_at,
+                   t.version, ts_rank(t.search_vector, q) AS rank
+            FROM tasks t, websearch_to_tsquery('simple', :q) q
+            WHERE t.search_vector @@ q
+            ORDER BY rank DESC, t.id
+            LIMIT :limit
+            """;
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    public PostgresTaskSearch(NamedParameterJdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    @Override
+    public List<TaskSearchHit> search(String query, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("q", query)
+                .addValue("limit", limit);
+        return jdbc.query(SQL, params, (rs, i) -> {
+            Date deadline = rs.getDate("deadline");
+            Timestamp updated = rs.getTimestamp("updated_at");
+            String priority = rs.getString("priority");
+            TaskView view = new TaskView(
+                    rs.getLong("id"),
+                    rs.getString("title"),
+                    rs.getString("description"),
+                    deadline == null ? null : deadline.toLocalDate(),
+                    TaskStatus.valueOf(rs.getString("status")),
+                    priority == null ? null : TaskPriority.valueOf(priority),
+                    rs.getTimestamp("created_at").toLocalDateTime(),
+                    updated == null ? null : updated.toLocalDateTime(),
+                    rs.getLong("version"));
+            return new TaskSearchHit(view, rs.getDouble("rank"));
+        });
+    }
+}
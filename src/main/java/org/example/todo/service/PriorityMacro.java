@@ -0,0 +1,34 @@
+package org.example.todo.service;
+
+import org.example.todo.model.TaskPriority;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// "!1".."!4": Critical..Low. Every token is removed, the first one decides the priority.
+@Component
+public class PriorityMacro implements TitleMacro {
+
+    private static final TaskPriority[] PRIORITIES = TaskPriority.values();
+
+    @Override
+    public List<String> triggers() {
+        return List.of("!1", "!2", "!3", "!4");
+    }
+
+    @Override
+    public int phase() {
+        return 0;
+    }
+
+    @Override
+    public int match(char[] text, int from, int to) {
+        return from + 2;
+    }
+
+    @Override
+    public boolean apply(TitleMacroContext ctx, char[] text, int from, int end) {
+        ctx.priority(PRIORITIES[text[from + 1] - '1']);
+        return true;
+    }
+}
@@ -0,0 +1,8 @@
+package org.example.todo.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "todo.tasks.batch")
+public record TaskBatchProperties(@DefaultValue("1000") int maxSize) {
+}
@@ -0,0 +1,49 @@
+package org.example.todo.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.example.todo.model.TaskView;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.function.Function;
+
+// Holds immutable views, so a reader can't change what the next reader gets. Invalidation is local:
+// writes through another instance or the reactive variant reach this cache only when the entry
+// expires, so a read can be up to todo.tasks.cache.ttl behind them.
+@Component
+public class TaskCache {
+
+    private final Cache<Long, TaskView> cache;
+
+    public TaskCache(TaskCacheProperties props, MeterRegistry registry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(props.maxSize())
+                .expireAfterWrite(props.ttl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, cache, "tasks");
+    }
+
+    // The load runs inside the cache's per-key compute, so an invalidation that races with it
+    // waits for the load to finish and then removes whatever it produced.
+    public TaskView get(Long id, Function<Long, TaskView> loader) {
+        return cache.get(id, loader);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.id() == null) {
+            cache.invalidateAll();
+        } else {
+            cache.invalidate(event.id());
+        }
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+}
@@ -0,0 +1,11 @@
+package org.example.todo.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "todo.tasks.cache")
+public record TaskCacheProperties(@DefaultValue("10000") long maxSize,
+                                  @DefaultValue("30s") Duration ttl) {
+}
@@ -0,0 +1,32 @@
+package org.example.todo.service;
+
+import org.example.todo.model.TaskView;
+
+// tombstoned: the writer already recorded the deletion for /changes, so TaskSyncService skips it.
+public record TaskChangedEvent(Long id, TaskView before, TaskView after, boolean tombstoned) {
+
+    public static TaskChangedEvent created(TaskView after) {
+        return new TaskChangedEvent(after.id(), null, after, false);
+    }
+
+    public static TaskChangedEvent updated(TaskView before, TaskView after) {
+        return new TaskChangedEvent(after.id(), before, after, false);
+    }
+
+    public static TaskChangedEvent deleted(Long id, TaskView before) {
+        return new TaskChangedEvent(id, before, null, false);
+    }
+
+    public static TaskChangedEvent deletedWithTombstone(Long id, TaskView before) {
+        return new TaskChangedEvent(id, before, null, true);
+    }
+
+    // Set-based writes that do not know which rows they touched.
+    public static TaskChangedEvent unknown() {
+        return new TaskChangedEvent(null, null, null, false);
+    }
+
+    public boolean deleted() {
+        return id != null && after == null;
+    }
+}
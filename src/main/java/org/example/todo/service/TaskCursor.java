@@ -0,0 +1,60 @@
+package org.example.todo.service;
+
+import org.example.todo.model.TaskSort;
+import org.example.todo.model.TaskView;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+public record TaskCursor(TaskSort sort, String key, long id) {
+
+    public static TaskCursor after(TaskSort sort, TaskView last) {
+        String key = switch (sort) {
+            case DEADLINE -> last.deadline() == null ? "" : last.deadline().toString();
+            case CREATED -> last.createdAt().toString();
+            case ID -> "";
+        };
+        return new TaskCursor(sort, key, last.id());
+    }
+
+    public String encode() {
+        String raw = sort.code() + "|" + key + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TaskCursor decode(String token, TaskSort expected) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 3 || TaskSort.ofCode(parts[0]) != expected) {
+                throw invalid();
+            }
+            TaskCursor c = new TaskCursor(expected, parts[1], Long.parseLong(parts[2]));
+            switch (expected) {
+                case CREATED -> c.createdAt();
+                case DEADLINE -> c.deadline();
+                case ID -> { }
+            }
+            return c;
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw invalid();
+        }
+    }
+
+    public LocalDate deadline() {
+        return key.isEmpty() ? null : LocalDate.parse(key);
+    }
+
+    public LocalDateTime createdAt() {
+        return LocalDateTime.parse(key);
+    }
+
+    private static ResponseStatusException invalid() {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+    }
+}
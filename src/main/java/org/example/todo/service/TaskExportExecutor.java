@@ -0,0 +1,38 @@
+package org.example.todo.service;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+// An export holds its thread for as long as the client reads, so exports get their own small pool
+// instead of the shared applicationTaskExecutor. Deliberately not an Executor bean: one would replace
+// Boot's default executor.
+@Component
+public class TaskExportExecutor implements DisposableBean {
+
+    private final ThreadPoolTaskExecutor pool = new ThreadPoolTaskExecutor();
+
+    public TaskExportExecutor(TaskStreamProperties properties) {
+        pool.setCorePoolSize(properties.threads());
+        pool.setMaxPoolSize(properties.threads());
+        pool.setQueueCapacity(properties.queueCapacity());
+        pool.setThreadNamePrefix("task-export-");
+        pool.initialize();
+    }
+
+    public void execute(Runnable export) {
+        try {
+            pool.execute(export);
+        } catch (TaskRejectedException ex) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many exports in progress");
+        }
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdown();
+    }
+}
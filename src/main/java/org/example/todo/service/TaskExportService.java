@@ -0,0 +1,59 @@
+package org.example.todo.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import org.example.todo.model.TaskEntity;
+import org.example.todo.repository.TaskRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.stream.Stream;
+
+@Service
+public class TaskExportService {
+
+    private static final int FLUSH_EVERY = 500;
+
+    private final TaskRepository repo;
+    private final EntityManager em;
+    private final ObjectMapper mapper;
+    private final ObjectWriter writer;
+
+    public TaskExportService(TaskRepository repo, EntityManager em, ObjectMapper mapper) {
+        this.repo = repo;
+        this.em = em;
+        this.mapper = mapper;
+        this.writer = mapper.writerFor(TaskEntity.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Transactional(readOnly = true)
+    public void writeNdjson(OutputStream out) throws IOException {
+        try (JsonGenerator gen = mapper.getFactory().createGenerator(out);
+             Stream<TaskEntity> tasks = repo.streamAllByOrderByIdAsc()) {
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            gen.setRootValueSeparator(null);
+            int[] written = {0};
+            tasks.forEach(t -> {
+                try {
+                    writer.writeValue(gen, t);
+                    gen.writeRaw('\n');
+                    if (++written[0] % FLUSH_EVERY == 0) {
+                        gen.flush();
+                    }
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+                em.detach(t);
+            });
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package org.example.todo.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+// linger: how long a batch waits for more tasks once its first one is queued.
+@ConfigurationProperties(prefix = "todo.tasks.ingest")
+public record TaskIngestProperties(@DefaultValue("false") boolean enabled,
+                                   @DefaultValue("10000") int capacity,
+                                   @DefaultValue("500") int batchSize,
+                                   @DefaultValue("20ms") Duration linger,
+                                   @DefaultValue("30s") Duration drainTimeout,
+                                   @DefaultValue("10m") Duration statusTtl) {
+}
@@ -0,0 +1,219 @@
+package org.example.todo.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.todo.model.TaskEntity;
+import org.example.todo.model.TaskIngestStatus;
+import org.example.todo.model.TaskView;
+import org.example.todo.repository.TaskIdAllocator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// Write-behind creation: tasks are validated and get their id on the request thread, then one writer
+// thread inserts them in group-committed JDBC batches, flushing when batch-size tasks are waiting or
+// linger has passed since the first of them.
+@Service
+@ConditionalOnProperty(prefix = "todo.tasks.ingest", name = "enabled", havingValue = "true")
+public class TaskIngestService implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskIngestService.class);
+    private static final String INSERT = "insert into tasks (id, title, description, deadline, status, priority, "
+            + "created_at, updated_at, version) values (?, ?, ?, ?, ?, ?, ?, ?, 0)";
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final TaskService tasks;
+    private final TaskIdAllocator ids;
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final ApplicationEventPublisher events;
+    private final TaskIngestProperties props;
+    private final BlockingQueue<TaskEntity> queue;
+    private final Cache<Long, TaskIngestStatus> statuses;
+    private final DistributionSummary batchSizes;
+    private volatile boolean accepting;
+    private Thread writer;
+
+    public TaskIngestService(TaskService tasks, TaskIdAllocator ids, JdbcTemplate jdbc, TransactionTemplate tx,
+                             ApplicationEventPublisher events, TaskIngestProperties props, MeterRegistry registry) {
+        this.tasks = tasks;
+        this.ids = ids;
+        this.jdbc = jdbc;
+        this.tx = tx;
+        this.events = events;
+        this.props = props;
+        this.queue = new ArrayBlockingQueue<>(props.capacity());
+        this.statuses = Caffeine.newBuilder()
+                .maximumSize(props.capacity() * 10L)
+                .expireAfterWrite(props.statusTtl())
+                .build();
+        Gauge.builder("todo.tasks.ingest.queue", queue, Collection::size)
+                .description("Tasks accepted but not yet written")
+                .register(registry);
+        this.batchSizes = DistributionSummary.builder("todo.tasks.ingest.batch")
+                .description("Tasks written per group commit")
+                .register(registry);
+    }
+
+    // null when the queue is full; the caller answers 429.
+    public TaskIngestStatus submit(TaskEntity in) {
+        if (!accepting) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Task ingest is shutting down");
+        }
+        tasks.prepareNew(in);
+        in.setId(ids.next());
+        in.setVersion(0);
+        TaskIngestStatus queued = TaskIngestStatus.queued(in.getId());
+        // recorded before the offer so the writer's STORED can never be overwritten by QUEUED
+        statuses.put(in.getId(), queued);
+        if (!queue.offer(in)) {
+            statuses.invalidate(in.getId());
+            return null;
+        }
+        return queued;
+    }
+
+    public TaskIngestStatus status(long id) {
+        return statuses.getIfPresent(id);
+    }
+
+    public int queued() {
+        return queue.size();
+    }
+
+    private void run() {
+        List<TaskEntity> batch = new ArrayList<>(props.batchSize());
+        while (accepting || !queue.isEmpty()) {
+            try {
+                collect(batch);
+            } catch (InterruptedException ex) {
+                // only after the drain timeout; whatever was collected is still written below
+                Thread.currentThread().interrupt();
+                write(batch);
+                return;
+            }
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void collect(List<TaskEntity> batch) throws InterruptedException {
+        TaskEntity first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + props.linger().toNanos();
+        while (batch.size() < props.batchSize()) {
+            queue.drainTo(batch, props.batchSize() - batch.size());
+            long wait = deadline - System.nanoTime();
+            if (batch.size() >= props.batchSize() || wait <= 0) {
+                return;
+            }
+            TaskEntity next = queue.poll(wait, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    // One transaction for the whole batch; if it fails, each task is retried alone so one bad row
+    // only fails itself.
+    private void write(List<TaskEntity> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        batchSizes.record(batch.size());
+        // Stamped at write time, not at submit: a row whose updated_at trailed its commit by more than
+        // todo.sync.commit-lag would fall behind tokens already handed out and never reach /changes.
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        for (TaskEntity t : batch) {
+            t.setCreatedAt(now);
+            t.setUpdatedAt(now);
+        }
+        try {
+            tx.executeWithoutResult(s -> insert(batch));
+            batch.forEach(t -> statuses.put(t.getId(), TaskIngestStatus.stored(t.getId())));
+        } catch (RuntimeException ex) {
+            log.warn("Group commit of {} tasks failed, retrying them one by one", batch.size(), ex);
+            for (TaskEntity t : batch) {
+                try {
+                    tx.executeWithoutResult(s -> insert(List.of(t)));
+                    statuses.put(t.getId(), TaskIngestStatus.stored(t.getId()));
+                } catch (RuntimeException single) {
+                    log.error("Could not store ingested task {}", t.getId(), single);
+                    statuses.put(t.getId(), TaskIngestStatus.failed(t.getId(), single.getMessage()));
+                }
+            }
+        }
+    }
+
+    private void insert(List<TaskEntity> batch) {
+        jdbc.batchUpdate(INSERT, batch, batch.size(), (ps, t) -> {
+            ps.setLong(1, t.getId());
+            ps.setString(2, t.getTitle());
+            ps.setString(3, t.getDescription());
+            ps.setObject(4, t.getDeadline(), Types.DATE);
+            ps.setString(5, t.getStatus().name());
+            ps.setString(6, t.getPriority().name());
+            ps.setObject(7, t.getCreatedAt(), Types.TIMESTAMP);
+            ps.setObject(8, t.getUpdatedAt(), Types.TIMESTAMP);
+        });
+        batch.forEach(t -> events.publishEvent(TaskChangedEvent.created(TaskView.from(t))));
+    }
+
+    @Override
+    public void start() {
+        accepting = true;
+        writer = Thread.ofPlatform().name("task-ingest").daemon().start(this::run);
+    }
+
+    // New submissions are refused at once; the writer keeps going until the queue is empty.
+    @Override
+    public void stop() {
+        accepting = false;
+        try {
+            writer.join(props.drainTimeout());
+            if (writer.isAlive()) {
+                log.warn("Task ingest did not drain within {}, {} tasks dropped", props.drainTimeout(), queue.size());
+                writer.interrupt();
+                writer.join(props.drainTimeout());
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return accepting;
+    }
+
+    // Below the web server's phases, so it stops only after graceful shutdown has finished the
+    // requests still submitting to it.
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+}
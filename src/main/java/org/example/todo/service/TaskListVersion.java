@@ -0,0 +1,89 @@
+package org.example.todo.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.dao.DataAccessException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+
+@Component
+public class TaskListVersion {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskListVersion.class);
+    private static final String READ = "select version, modified_at from task_list_version";
+
+    private final JdbcTemplate jdbc;
+    private final String nextval;
+    // Last-Modified while there are no tasks or tombstones yet; the ETag stays the real validator.
+    private final long started = System.currentTimeMillis();
+
+    public TaskListVersion(JdbcTemplate jdbc, EntityManagerFactory emf) {
+        this.jdbc = jdbc;
+        this.nextval = emf.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect().getSequenceSupport()
+                .getSequenceNextValString("task_list_version_seq");
+    }
+
+    public record Stamp(String etag, long lastModified) {
+
+        // The reactive variant builds its tags here too, so both hand out the same ones.
+        public static Stamp of(long version, long modified) {
+            return new Stamp("\"" + version + "-" + modified + "\"", modified);
+        }
+    }
+
+    // Advanced once per transaction, after it commits. A sequence takes no lock, so writers don't
+    // queue behind each other the way they did on a version row. Bumping after the commit keeps the
+    // order that matters: current() is read before the list, so a list missing some commit was read
+    // under a version that commit's bump has since moved past. nextval is not transactional on H2 or
+    // PostgreSQL, so the bump reuses the committed transaction's connection rather than borrowing a
+    // second one: a pool full of committing writers would otherwise wait on itself.
+    @EventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            bump();
+            return;
+        }
+        if (TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                // The committed transaction's connection is still bound here, so this runs on it.
+                // The write has committed, so a failed bump must not fail the request; the ETag still
+                // moves with the row's updated_at.
+                try {
+                    bump();
+                } catch (DataAccessException ex) {
+                    log.warn("Could not advance the task list version after commit", ex);
+                }
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResource(TaskListVersion.this);
+            }
+        });
+    }
+
+    private void bump() {
+        jdbc.queryForObject(nextval, Long.class);
+    }
+
+    // The tag also carries the newest update and deletion time, so a bump lost to a crash between
+    // commit and nextval still changes it.
+    public Stamp current() {
+        return jdbc.queryForObject(READ, (rs, i) -> {
+            Timestamp at = rs.getTimestamp("modified_at");
+            return Stamp.of(rs.getLong("version"), at != null ? at.getTime() : started);
+        });
+    }
+}
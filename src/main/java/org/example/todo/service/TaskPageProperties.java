@@ -0,0 +1,9 @@
+package org.example.todo.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "todo.tasks.page")
+public record TaskPageProperties(@DefaultValue("50") int defaultLimit,
+                                 @DefaultValue("500") int maxLimit) {
+}
@@ -0,0 +1,53 @@
+package org.example.todo.service;
+
+import org.example.todo.model.TaskEntity;
+import org.example.todo.model.TaskPriority;
+import org.example.todo.model.TaskStatus;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+// The task rules without any I/O, shared by TaskService and the reactive handlers.
+public final class TaskRules {
+
+    private TaskRules() {
+    }
+
+    public static void applyMacros(TaskEntity t, TitleMacroEngine.Parsed parsed) {
+        if (t.getPriority() == null) {
+            t.setPriority(parsed.priority() != null ? parsed.priority() : TaskPriority.Medium);
+        }
+        if (parsed.invalidDate() != null) {
+            throw new DateTimeParseException("Text '" + parsed.invalidDate() + "' could not be parsed",
+                    parsed.invalidDate(), 0);
+        }
+        if (parsed.deadline() != null) {
+            t.setDeadline(parsed.deadline());
+        }
+
+        String title = parsed.title();
+        if (title.length() < 4) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "Title must be at least 4 characters long"
+            );
+        }
+
+        t.setTitle(title);
+    }
+
+    // Status of a new or edited task.
+    public static TaskStatus openStatus(LocalDate deadline, LocalDate today) {
+        return deadline != null && today.isAfter(deadline) ? TaskStatus.Overdue : TaskStatus.Active;
+    }
+
+    public static TaskStatus completionStatus(boolean completed, LocalDate deadline, LocalDate today) {
+        boolean late = deadline != null && deadline.isBefore(today);
+        if (completed) {
+            return late ? TaskStatus.Late : TaskStatus.Completed;
+        }
+        return late ? TaskStatus.Overdue : TaskStatus.Active;
+    }
+}
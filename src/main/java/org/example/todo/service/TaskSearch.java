@@ -0,0 +1,9 @@
+package org.example.todo.service;
+
+import org.example.todo.model.TaskSearchHit;
+
+import java.util.List;
+
+public interface TaskSearch {
+    List<TaskSearchHit> search(String query, int limit);
+}
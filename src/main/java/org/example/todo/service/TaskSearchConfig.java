@@ -0,0 +1,22 @@
+package org.example.todo.service;
+
+import org.example.todo.repository.TaskRepository;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+
+@Configuration
+public class TaskSearchConfig {
+
+    @Bean
+    public TaskSearch taskSearch(DataSource dataSource, NamedParameterJdbcTemplate jdbc, TaskRepository repo)
+            throws MetaDataAccessException {
+        String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        return "PostgreSQL".equals(product) ? new PostgresTaskSearch(jdbc) : new InMemoryTaskSearch(repo);
+    }
+}
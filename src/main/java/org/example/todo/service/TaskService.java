@@ -1,62 +1,199 @@
 package org.example.todo.service;
 
-import jakarta.transaction.Transactional;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.example.todo.model.TaskBatchResult;
+import org.example.todo.model.TaskBulkResult;
 import org.example.todo.model.TaskEntity;
-import org.example.todo.model.TaskPriority;
+import org.example.todo.model.TaskFilter;
+import org.example.todo.model.TaskPage;
+import org.example.todo.model.TaskSort;
 import org.example.todo.model.TaskStatus;
+import org.example.todo.model.TaskView;
 import org.example.todo.repository.TaskRepository;
+import org.example.todo.repository.TaskTombstoneRepository;
 import org.example.todo.repository.VulnerableExample;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class TaskService {
 
     private final TaskRepository repo;
-    private static final DateTimeFormatter DTF_DOT  = DateTimeFormatter.ofPattern("d.MM.uuuu");
-    private static final DateTimeFormatter DTF_DASH = DateTimeFormatter.ofPattern("d-MM-uuuu");
-    private static final Pattern PRIORITY_MACRO = Pattern.compile("!([1-4])");
-    private static final Pattern DEADLINE_MACRO = Pattern.compile("!before\\s+(\\d{1,2}[.\\-]\\d{1,2}[.\\-]\\d{4})");
+    private final TaskTombstoneRepository tombstones;
+    private final TaskPageProperties paging;
+    private final TaskCache cache;
+    private final ApplicationEventPublisher events;
+    private final Validator validator;
+    private final TaskBatchProperties batching;
+    private final TitleMacroEngine macros;
+    private final Timer macroTimer;
 
-    public TaskService(TaskRepository repo) {
+    public TaskService(TaskRepository repo, TaskTombstoneRepository tombstones, TaskPageProperties paging,
+                       TaskCache cache, ApplicationEventPublisher events, Validator validator,
+                       TaskBatchProperties batching, TitleMacroEngine macros, MeterRegistry registry) {
         this.repo = repo;
+        this.tombstones = tombstones;
+        this.paging = paging;
+        this.cache = cache;
+        this.events = events;
+        this.validator = validator;
+        this.batching = batching;
+        this.macros = macros;
+        this.macroTimer = Timer.builder("todo.tasks.macros")
+                .description("Time spent parsing title macros")
+                .register(registry);
     }
-    @Transactional
-    public List<TaskEntity> getAllSorted(String sortBy) {
-        List<TaskEntity> tasks;
-        switch (sortBy) {
-            case "deadline": tasks = repo.findAllByOrderByDeadlineAsc(); break;
-            case "created":  tasks = repo.findAllByOrderByCreatedAtDesc(); break;
-            default:         tasks = repo.findAll();
+
+    // GET /api/tasks: a keyset page of the filtered list, never more than max-limit rows.
+    @Transactional(readOnly = true)
+    public TaskPage<TaskView> getList(String sortBy, TaskFilter filter, String cursor, Integer limit) {
+        checkDeadlineRange(filter);
+        TaskSort sort = TaskSort.of(sortBy);
+        int size = pageSize(limit);
+        TaskCursor after = cursor == null ? null : TaskCursor.decode(cursor, sort);
+        List<TaskView> tasks = after == null
+                ? repo.findViews(filter, sort, null, null, null, Limit.of(size + 1))
+                : repo.findViews(filter, sort, after.id(),
+                        sort == TaskSort.DEADLINE ? after.deadline() : null,
+                        sort == TaskSort.CREATED ? after.createdAt() : null,
+                        Limit.of(size + 1));
+        return page(tasks, size, sort);
+    }
+
+    private static void checkDeadlineRange(TaskFilter filter) {
+        if (filter.deadlineFrom() != null && filter.deadlineTo() != null
+                && filter.deadlineFrom().isAfter(filter.deadlineTo())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "deadlineFrom must not be after deadlineTo");
         }
-        return tasks;
     }
-    @Transactional
-    public TaskEntity getById(Long id) {
-        TaskEntity t = repo.findById(id).orElseThrow(() -> new NoSuchElementException("Task not found"));
+
+    // tasks holds up to size + 1 rows; the extra one only tells whether another page exists.
+    private static TaskPage<TaskView> page(List<TaskView> tasks, int size, TaskSort sort) {
+        if (tasks.size() <= size) {
+            return new TaskPage<>(tasks, null);
+        }
+        List<TaskView> items = tasks.subList(0, size);
+        return new TaskPage<>(items, TaskCursor.after(sort, items.get(size - 1)).encode());
+    }
+
+    private int pageSize(Integer limit) {
+        if (limit == null) {
+            return Math.min(paging.defaultLimit(), paging.maxLimit());
+        }
+        if (limit < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be positive");
+        }
+        return Math.min(limit, paging.maxLimit());
+    }
+
+    @Transactional(readOnly = true)
+    public TaskView getById(Long id) {
+        TaskView t = cache.get(id, key -> repo.findById(key).map(TaskView::from).orElse(null));
+        if (t == null) {
+            throw new NoSuchElementException("Task not found");
+        }
         return t;
     }
 
+    private TaskEntity load(Long id) {
+        return repo.findById(id).orElseThrow(() -> new NoSuchElementException("Task not found"));
+    }
+
     @Transactional
     public TaskEntity create(TaskEntity in) {
+        prepareNew(in);
+        TaskEntity saved = repo.save(in);
+        events.publishEvent(TaskChangedEvent.created(TaskView.from(saved)));
+        return saved;
+    }
+
+    // Macros and the opening status; shared with the asynchronous ingest path.
+    public void prepareNew(TaskEntity in) {
         applyMacros(in);
         in.setStatus(TaskStatus.Active);
         updateStatusIfNeeded(in);
-        return repo.save(in);
+    }
+
+    // Invalid items are reported per index; the valid ones are inserted together in JDBC batches.
+    @Transactional
+    public List<TaskBatchResult> createAll(List<TaskEntity> items) {
+        if (items.size() > batching.maxSize()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Batch must not contain more than " + batching.maxSize() + " tasks");
+        }
+        TaskBatchResult[] results = new TaskBatchResult[items.size()];
+        List<TaskEntity> valid = new ArrayList<>(items.size());
+        List<Integer> positions = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            TaskEntity in = items.get(i);
+            String error = prepare(in);
+            if (error != null) {
+                results[i] = TaskBatchResult.failed(i, error);
+            } else {
+                valid.add(in);
+                positions.add(i);
+            }
+        }
+        List<TaskEntity> saved = repo.saveAll(valid);
+        for (int k = 0; k < saved.size(); k++) {
+            TaskView view = TaskView.from(saved.get(k));
+            results[positions.get(k)] = TaskBatchResult.created(positions.get(k), view);
+            events.publishEvent(TaskChangedEvent.created(view));
+        }
+        return List.of(results);
+    }
+
+    private String prepare(TaskEntity in) {
+        if (in == null) {
+            return "Task must not be null";
+        }
+        for (ConstraintViolation<TaskEntity> v : validator.validate(in)) {
+            return v.getPropertyPath() + ": " + v.getMessage();
+        }
+        try {
+            applyMacros(in);
+        } catch (ResponseStatusException ex) {
+            return ex.getReason();
+        } catch (RuntimeException ex) {
+            return ex.getMessage();
+        }
+        in.setId(null);
+        in.setStatus(TaskStatus.Active);
+        updateStatusIfNeeded(in);
+        return null;
     }
 
     @Transactional
     public TaskEntity update(Long id, TaskEntity in) {
-        TaskEntity t = getById(id);
+        return update(id, in, null);
+    }
+
+    // expectedVersion comes from If-Match; a concurrent commit after the read still fails at flush.
+    @Transactional
+    public TaskEntity update(Long id, TaskEntity in, Long expectedVersion) {
+        TaskEntity t = load(id);
+        if (expectedVersion != null && t.getVersion() != expectedVersion) {
+            throw modified();
+        }
+        TaskView before = TaskView.from(t);
         t.setTitle(in.getTitle());
         t.setDescription(in.getDescription());
         t.setDeadline(in.getDeadline());
@@ -65,84 +202,135 @@ public class TaskService {
         applyMacros(t);
         t.setStatus(TaskStatus.Active);
         updateStatusIfNeeded(t);
-        return repo.save(t);
+        TaskEntity saved = repo.saveAndFlush(t);
+        events.publishEvent(TaskChangedEvent.updated(before, TaskView.from(saved)));
+        return saved;
     }
 
     @Transactional
     public void delete(Long id) {
-        repo.deleteById(id);
+        TaskView before = repo.deleteReturning(id).orElseThrow(() -> new NoSuchElementException("Task not found"));
+        events.publishEvent(TaskChangedEvent.deleted(id, before));
     }
 
     @Transactional
     public TaskEntity markCompleted(Long id, boolean completed) {
-        TaskEntity t = getById(id);
-        LocalDate now = LocalDate.now();
-        if (completed) {
-            t.setStatus(t.getDeadline() != null && now.isAfter(t.getDeadline())
-                    ? TaskStatus.Late
-                    : TaskStatus.Completed);
-        } else {
-            t.setStatus(t.getDeadline() != null && now.isAfter(t.getDeadline())
-                    ? TaskStatus.Overdue
-                    : TaskStatus.Active);
-        }
-        return repo.save(t);
+        return markCompleted(id, completed, null);
     }
 
-    private void applyMacros(TaskEntity t) {
-        String title = t.getTitle();
-
-        Matcher mP = PRIORITY_MACRO.matcher(title);
-        if (mP.find()) {
-            int lvl = Integer.parseInt(mP.group(1));
-            if (t.getPriority() == null) {
-                t.setPriority(TaskPriority.values()[lvl - 1]);
+    // One UPDATE both writes the new status and hands back the previous row; the new row follows from it.
+    @Transactional
+    public TaskEntity markCompleted(Long id, boolean completed, Long expectedVersion) {
+        LocalDate today = LocalDate.now();
+        // The response is built from this value rather than read back, so match the column's precision.
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        TaskStatus late = completed ? TaskStatus.Late : TaskStatus.Overdue;
+        TaskStatus onTime = completed ? TaskStatus.Completed : TaskStatus.Active;
+        TaskView before = repo.updateCompletion(id, late, onTime, today, now, expectedVersion).orElse(null);
+        if (before == null) {
+            // Only the failure path pays for telling a stale version from a missing task.
+            if (expectedVersion != null && repo.existsById(id)) {
+                throw modified();
             }
-            title = mP.replaceAll("").trim();
-        } else if (t.getPriority() == null) {
-            t.setPriority(TaskPriority.Medium);
+            throw new NoSuchElementException("Task not found");
         }
+        TaskView after = completed(before, completed, today, now);
+        events.publishEvent(TaskChangedEvent.updated(before, after));
+        return toEntity(after);
+    }
 
-        Matcher mD = DEADLINE_MACRO.matcher(title);
-        if (mD.find()) {
-            String dateStr = mD.group(1);
-            if (t.getDeadline() == null) {
-                LocalDate ld = parseDate(dateStr);
-                t.setDeadline(ld);
-            }
-            title = mD.replaceAll("").trim();
+    // The row a completion UPDATE leaves behind, derived from the row it started from.
+    private static TaskView completed(TaskView before, boolean completed, LocalDate today, LocalDateTime now) {
+        return new TaskView(before.id(), before.title(), before.description(), before.deadline(),
+                TaskRules.completionStatus(completed, before.deadline(), today),
+                before.priority(), before.createdAt(), now, before.version() + 1);
+    }
+
+    private static TaskEntity toEntity(TaskView v) {
+        TaskEntity t = new TaskEntity();
+        t.setId(v.id());
+        t.setTitle(v.title());
+        t.setDescription(v.description());
+        t.setDeadline(v.deadline());
+        t.setStatus(v.status());
+        t.setPriority(v.priority());
+        t.setCreatedAt(v.createdAt());
+        t.setUpdatedAt(v.updatedAt());
+        t.setVersion(v.version());
+        return t;
+    }
+
+    private static ResponseStatusException modified() {
+        return new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Task has been modified");
+    }
+
+    // Same Completed/Late and Active/Overdue rules as markCompleted, applied to all ids in one UPDATE.
+    @Transactional
+    public TaskBulkResult markCompletedAll(List<Long> ids, boolean completed) {
+        List<Long> requested = distinct(ids);
+        if (requested.isEmpty()) {
+            return new TaskBulkResult(List.of(), List.of());
+        }
+        Map<Long, TaskView> before = byId(repo.findViewsByIdIn(requested));
+        if (!before.isEmpty()) {
+            LocalDate today = LocalDate.now();
+            // As in markCompleted, the new rows are derived rather than read back.
+            LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+            repo.setStatusByDeadline(before.keySet(),
+                    completed ? TaskStatus.Late : TaskStatus.Overdue,
+                    completed ? TaskStatus.Completed : TaskStatus.Active,
+                    today, now);
+            before.values().forEach(view ->
+                    events.publishEvent(TaskChangedEvent.updated(view, completed(view, completed, today, now))));
         }
+        return bulkResult(requested, before);
+    }
 
-        else if (t.getDeadline() == null && title.contains("!before")) {
-            t.setDeadline(LocalDate.now());
-            title = title.replace("!before", "").trim();
+    @Transactional
+    public TaskBulkResult deleteAll(List<Long> ids) {
+        List<Long> requested = distinct(ids);
+        if (requested.isEmpty()) {
+            return new TaskBulkResult(List.of(), List.of());
         }
+        Map<Long, TaskView> before = byId(repo.findViewsByIdIn(requested));
+        if (!before.isEmpty()) {
+            tombstones.insertForTasks(before.keySet(), LocalDateTime.now());
+            repo.deleteByIdIn(before.keySet());
+            before.forEach((id, view) -> events.publishEvent(TaskChangedEvent.deletedWithTombstone(id, view)));
+        }
+        return bulkResult(requested, before);
+    }
 
-        title = title.trim();
-        if (title.length() < 4) {
-            throw new ResponseStatusException(
-                    HttpStatus.BAD_REQUEST,
-                    "Title must be at least 4 characters long"
-            );
+    private List<Long> distinct(List<Long> ids) {
+        List<Long> requested = new ArrayList<>(new LinkedHashSet<>(ids));
+        requested.remove(null);
+        if (requested.size() > batching.maxSize()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Batch must not contain more than " + batching.maxSize() + " tasks");
         }
+        return requested;
+    }
+
+    private static Map<Long, TaskView> byId(List<TaskView> views) {
+        return views.stream().collect(Collectors.toMap(TaskView::id, Function.identity()));
+    }
+
+    private static TaskBulkResult bulkResult(List<Long> requested, Map<Long, TaskView> found) {
+        return new TaskBulkResult(
+                requested.stream().filter(found::containsKey).toList(),
+                requested.stream().filter(id -> !found.containsKey(id)).toList());
+    }
 
-        t.setTitle(title);
+    private void applyMacros(TaskEntity t) {
+        TitleMacroEngine.Parsed parsed = macroTimer.record(
+                () -> macros.parse(t.getTitle(), t.getDeadline() != null, LocalDate.now()));
+        TaskRules.applyMacros(t, parsed);
     }
     @Transactional
     public void updateStatusIfNeeded(TaskEntity t) {
         VulnerableExample fd = new VulnerableExample();
-        if (t.getStatus() == TaskStatus.Active && t.getDeadline() != null
-                && LocalDate.now().isAfter(t.getDeadline())) {
-            t.setStatus(TaskStatus.Overdue);
-            repo.save(t);
-        }
-    }
-
-    private LocalDate parseDate(String s) {
-        try {
-            return LocalDate.parse(s, DTF_DOT);
-        } catch (DateTimeParseException ex) {
-            return LocalDate.parse(s, DTF_DASH);
+        if (t.getStatus() == TaskStatus.Active) {
+            t.setStatus(TaskRules.openStatus(t.getDeadline(), LocalDate.now()));
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,127 @@
+package org.example.todo.service;
+
+import org.example.todo.model.TaskPriority;
+import org.example.todo.model.TaskStats;
+import org.example.todo.model.TaskStatus;
+import org.example.todo.model.TaskView;
+import org.example.todo.repository.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Eventually consistent, per instance: counters follow this instance's committed writes through
+// events and are only corrected from the database by reconcile(). Writes from other instances or
+// straight SQL stay invisible until then, so /stats is a dashboard figure, not an exact count.
+@Service
+public class TaskStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskStatsService.class);
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+    private static final TaskPriority[] PRIORITIES = TaskPriority.values();
+
+    private final TaskRepository repo;
+    private final TransactionTemplate readOnlyTx;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicLongArray byStatus = new AtomicLongArray(STATUSES.length);
+    private final AtomicLongArray byPriority = new AtomicLongArray(PRIORITIES.length);
+    private volatile boolean dirty = true;
+
+    public TaskStatsService(TaskRepository repo, PlatformTransactionManager txManager) {
+        this.repo = repo;
+        this.readOnlyTx = new TransactionTemplate(txManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    public TaskStats stats() {
+        Map<TaskStatus, Long> statuses = new EnumMap<>(TaskStatus.class);
+        long total = 0;
+        for (TaskStatus s : STATUSES) {
+            long n = byStatus.get(s.ordinal());
+            statuses.put(s, n);
+            total += n;
+        }
+        Map<TaskPriority, Long> priorities = new EnumMap<>(TaskPriority.class);
+        for (TaskPriority p : PRIORITIES) {
+            priorities.put(p, byPriority.get(p.ordinal()));
+        }
+        return new TaskStats(total, statuses, priorities, statuses.get(TaskStatus.Overdue));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.before() == null && event.after() == null) {
+            dirty = true;
+            return;
+        }
+        lock.lock();
+        try {
+            apply(event.before(), -1);
+            apply(event.after(), 1);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void apply(TaskView t, int delta) {
+        if (t == null) {
+            return;
+        }
+        byStatus.addAndGet(t.status().ordinal(), delta);
+        if (t.priority() != null) {
+            byPriority.addAndGet(t.priority().ordinal(), delta);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${todo.stats.dirty-check-interval:5s}")
+    public void reconcileIfDirty() {
+        if (dirty) {
+            reconcile();
+        }
+    }
+
+    // Also called from reconcileIfDirty(), which does not go through the proxy, so the read-only
+    // transaction is opened here rather than by @Transactional.
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${todo.stats.reconcile-cron:0 */15 * * * *}")
+    public void reconcile() {
+        lock.lock();
+        try {
+            dirty = false;
+            long[] statuses = new long[STATUSES.length];
+            long[] priorities = new long[PRIORITIES.length];
+            readOnlyTx.executeWithoutResult(s -> {
+                for (Object[] row : repo.countByStatus()) {
+                    statuses[((TaskStatus) row[0]).ordinal()] = (Long) row[1];
+                }
+                for (Object[] row : repo.countByPriority()) {
+                    if (row[0] != null) {
+                        priorities[((TaskPriority) row[0]).ordinal()] = (Long) row[1];
+                    }
+                }
+            });
+            long drift = 0;
+            for (int i = 0; i < statuses.length; i++) {
+                drift += Math.abs(byStatus.getAndSet(i, statuses[i]) - statuses[i]);
+            }
+            for (int i = 0; i < priorities.length; i++) {
+                drift += Math.abs(byPriority.getAndSet(i, priorities[i]) - priorities[i]);
+            }
+            if (drift > 0) {
+                log.info("Task stats reconciled, corrected drift of {}", drift);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package org.example.todo.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+// threads bounds the exports running at once, queueCapacity the ones waiting for a thread; past
+// both, GET /api/tasks/stream answers 503.
+@ConfigurationProperties(prefix = "todo.tasks.stream")
+public record TaskStreamProperties(@DefaultValue("10m") Duration timeout,
+                                   @DefaultValue("4") int threads,
+                                   @DefaultValue("4") int queueCapacity) {
+}
@@ -0,0 +1,16 @@
+package org.example.todo.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+// commitLag is also the limit of what /changes can see: a transaction that commits more than this
+// after stamping updated_at (or deleted_at), or an instance whose clock is behind by more than it,
+// writes rows behind tokens already handed out.
+@ConfigurationProperties(prefix = "todo.sync")
+public record TaskSyncProperties(@DefaultValue("30d") Duration tombstoneRetention,
+                                 @DefaultValue("5s") Duration commitLag,
+                                 @DefaultValue("500") int pageSize,
+                                 @DefaultValue("10000") long resyncThreshold) {
+}
@@ -0,0 +1,131 @@
+package org.example.todo.service;
+
+import org.example.todo.model.TaskChanges;
+import org.example.todo.model.TaskTombstone;
+import org.example.todo.model.TaskView;
+import org.example.todo.repository.TaskRepository;
+import org.example.todo.repository.TaskTombstoneRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+
+@Service
+public class TaskSyncService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskSyncService.class);
+    private static final String TOKEN_PREFIX = "2|";
+
+    private final TaskRepository repo;
+    private final TaskTombstoneRepository tombstones;
+    private final TaskSyncProperties props;
+
+    public TaskSyncService(TaskRepository repo, TaskTombstoneRepository tombstones, TaskSyncProperties props) {
+        this.repo = repo;
+        this.tombstones = tombstones;
+        this.props = props;
+    }
+
+    // Each poll returns the changes stamped up to now minus the commit lag, so a transaction that stamped
+    // its rows before the read but commits just after is still ahead of the token. Updates and deletions
+    // page separately on (timestamp, id); the token carries both positions.
+    @Transactional(readOnly = true)
+    public TaskChanges changesSince(String token) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime until = now.minus(props.commitLag());
+        if (token == null) {
+            return resync(until);
+        }
+        Position from = decode(token);
+        LocalDateTime oldest = from.updated().at().isBefore(from.deleted().at()) ? from.updated().at() : from.deleted().at();
+        if (oldest.isBefore(now.minus(props.tombstoneRetention()))) {
+            return resync(until);
+        }
+        int size = props.pageSize();
+        List<TaskView> updated = repo.findChangedAfter(from.updated().at(), from.updated().id(), until, Limit.of(size + 1));
+        List<TaskTombstone> deleted = tombstones.findDeletedAfter(from.deleted().at(), from.deleted().id(), until,
+                Limit.of(size + 1));
+        boolean hasMore = updated.size() > size || deleted.size() > size;
+        // A client this far behind reloads faster than it pages.
+        if (hasMore && repo.countChangedBetween(from.updated().at(), until)
+                + tombstones.countDeletedBetween(from.deleted().at(), until) > props.resyncThreshold()) {
+            return resync(until);
+        }
+        Cursor nextUpdated = updated.size() > size
+                ? new Cursor(updated.get(size - 1).updatedAt(), updated.get(size - 1).id())
+                : from.updated().caughtUp(until);
+        Cursor nextDeleted = deleted.size() > size
+                ? new Cursor(deleted.get(size - 1).getDeletedAt(), deleted.get(size - 1).getTaskId())
+                : from.deleted().caughtUp(until);
+        return new TaskChanges(false, encode(new Position(nextUpdated, nextDeleted)),
+                updated.subList(0, Math.min(size, updated.size())),
+                deleted.stream().limit(size).map(TaskTombstone::getTaskId).toList(),
+                hasMore);
+    }
+
+    private static TaskChanges resync(LocalDateTime until) {
+        Cursor start = new Cursor(until, 0);
+        return new TaskChanges(true, encode(new Position(start, start)), List.of(), List.of(), false);
+    }
+
+    @EventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.deleted() && !event.tombstoned()) {
+            tombstones.insert(event.id(), LocalDateTime.now());
+        }
+    }
+
+    @Scheduled(cron = "${todo.sync.purge-cron:0 30 3 * * *}")
+    @Transactional
+    public void purgeTombstones() {
+        int purged = tombstones.deleteOlderThan(LocalDateTime.now().minus(props.tombstoneRetention()));
+        log.info("Purged {} task tombstones", purged);
+    }
+
+    // Everything up to (at, id) has been delivered.
+    private record Cursor(LocalDateTime at, long id) {
+
+        // All rows stamped up to until were returned, so the next page starts after them.
+        Cursor caughtUp(LocalDateTime until) {
+            return until.isAfter(at) ? new Cursor(until, Long.MAX_VALUE) : this;
+        }
+    }
+
+    private record Position(Cursor updated, Cursor deleted) {
+    }
+
+    private static String encode(Position p) {
+        String raw = TOKEN_PREFIX + p.updated().at() + "|" + p.updated().id() + "|" + p.deleted().at() + "|" + p.deleted().id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Position decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.startsWith(TOKEN_PREFIX) ? raw.substring(TOKEN_PREFIX.length()).split("\\|") : new String[0];
+            if (parts.length != 4) {
+                throw invalid();
+            }
+            return new Position(
+                    new Cursor(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1])),
+                    new Cursor(LocalDateTime.parse(parts[2]), Long.parseLong(parts[3])));
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw invalid();
+        }
+    }
+
+    private static ResponseStatusException invalid() {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid sync token");
+    }
+}
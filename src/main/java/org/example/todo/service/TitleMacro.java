@@ -0,0 +1,28 @@
+package org.example.todo.service;
+
+import java.util.List;
+
+// A title macro contributed as a bean. The engine compiles every trigger of every macro into one trie
+// and scans the title once, so adding macros does not add passes over the title.
+public interface TitleMacro {
+
+    // Literal prefixes at which the engine offers a position to this macro, e.g. "!before".
+    List<String> triggers();
+
+    // Phase 0 holds argumentless tokens; they are stripped before phase 1 macros see the title.
+    // Only phases 0 and 1 exist.
+    default int phase() {
+        return 1;
+    }
+
+    // Fallback matches are only applied once the whole title has been scanned; phase 1 only.
+    default boolean fallback() {
+        return false;
+    }
+
+    // End of the macro starting at from (where a trigger matched), or -1; text is valid up to to.
+    int match(char[] text, int from, int to);
+
+    // Records the macro's effect; returns whether its text is removed from the title.
+    boolean apply(TitleMacroContext ctx, char[] text, int from, int end);
+}
@@ -0,0 +1,60 @@
+package org.example.todo.service;
+
+import org.example.todo.model.TaskPriority;
+
+import java.time.LocalDate;
+
+public final class TitleMacroContext {
+
+    private final boolean deadlineSet;
+    private final LocalDate today;
+    private TaskPriority priority;
+    private LocalDate deadline;
+    private String invalidDate;
+    private boolean deadlineClaimed;
+
+    TitleMacroContext(boolean deadlineSet, LocalDate today) {
+        this.deadlineSet = deadlineSet;
+        this.today = today;
+    }
+
+    public boolean deadlineSet() {
+        return deadlineSet;
+    }
+
+    public LocalDate today() {
+        return today;
+    }
+
+    // The first priority macro in the title wins.
+    public void priority(TaskPriority value) {
+        if (priority == null) {
+            priority = value;
+        }
+    }
+
+    // The first explicit deadline macro in the title wins; later ones only get removed.
+    public boolean claimDeadline() {
+        if (deadlineClaimed) {
+            return false;
+        }
+        deadlineClaimed = true;
+        return true;
+    }
+
+    public boolean deadlineClaimed() {
+        return deadlineClaimed;
+    }
+
+    public void deadline(LocalDate value) {
+        deadline = value;
+    }
+
+    public void invalidDate(String text) {
+        invalidDate = text;
+    }
+
+    TitleMacroEngine.Parsed result(String title) {
+        return new TitleMacroEngine.Parsed(title, priority, deadline, invalidDate);
+    }
+}
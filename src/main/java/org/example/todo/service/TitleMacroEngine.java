@@ -0,0 +1,227 @@
+package org.example.todo.service;
+
+import org.example.todo.model.TaskPriority;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+@Component
+public class TitleMacroEngine {
+
+    private static final int TOKEN = 1;
+    private static final int MACRO = 2;
+
+    private final TitleMacro[] macros;
+    private final int[] kinds;
+    private final Node root = new Node();
+
+    public TitleMacroEngine(List<TitleMacro> macros) {
+        for (TitleMacro m : macros) {
+            if (m.phase() != 0 && m.phase() != 1) {
+                throw new IllegalArgumentException("Macro phase must be 0 or 1: " + m);
+            }
+            if (m.phase() == 0 && m.fallback()) {
+                throw new IllegalArgumentException("Phase 0 macros cannot be fallbacks: " + m);
+            }
+        }
+        // At a shared trigger, tokens come first, then regular macros, then fallbacks.
+        this.macros = macros.stream()
+                .sorted(Comparator.comparingInt(TitleMacro::phase).thenComparing(TitleMacro::fallback))
+                .toArray(TitleMacro[]::new);
+        this.kinds = new int[this.macros.length];
+        for (int m = 0; m < this.macros.length; m++) {
+            int kind = this.macros[m].phase() == 0 ? TOKEN : MACRO;
+            kinds[m] = kind;
+            for (String trigger : this.macros[m].triggers()) {
+                Node node = root;
+                node.kinds |= kind;
+                for (int k = 0; k < trigger.length(); k++) {
+                    node = node.add(trigger.charAt(k));
+                    node.kinds |= kind;
+                }
+                node.macros = Arrays.copyOf(node.macros, node.macros.length + 1);
+                node.macros[node.macros.length - 1] = m;
+            }
+        }
+    }
+
+    // deadline is null when no macro applies; invalidDate carries date text that could not be parsed.
+    public record Parsed(String title, TaskPriority priority, LocalDate deadline, String invalidDate) {
+    }
+
+    // One left-to-right scan over one trie of every trigger; kept text is compacted in place. Phase 0
+    // tokens are stripped as the scan reaches them. A phase 1 macro has to see the rest of the title
+    // without tokens, so the first time one may start, the tokens ahead of it are stripped in one go
+    // and the scan carries on over macros only. Fallbacks are applied after the scan, in order.
+    public Parsed parse(String title, boolean deadlineSet, LocalDate today) {
+        TitleMacroContext ctx = new TitleMacroContext(deadlineSet, today);
+        int len = title.length();
+        int i = 0;
+        while (i < len && root.child(title.charAt(i)) == null) {
+            i++;
+        }
+        if (i == len) {
+            return ctx.result(title.trim());
+        }
+        char[] buf = title.toCharArray();
+        int w = i;
+        boolean stripped = false;
+        int[] deferred = null;
+        int deferredCount = 0;
+        while (i < len) {
+            Node first = root.child(buf[i]);
+            if (first == null) {
+                buf[w++] = buf[i++];
+                continue;
+            }
+            if (!stripped) {
+                long token = find(root, buf, i, i, len, TOKEN);
+                if (token >= 0) {
+                    int end = (int) token;
+                    if (macros[(int) (token >>> 32)].apply(ctx, buf, i, end)) {
+                        i = end;
+                        continue;
+                    }
+                    // Kept token text is still open to macros, which see what follows it stripped.
+                    len = strip(ctx, buf, end, len);
+                    stripped = true;
+                } else if ((first.kinds & MACRO) != 0) {
+                    len = strip(ctx, buf, i + 1, len);
+                    stripped = true;
+                } else {
+                    buf[w++] = buf[i++];
+                    continue;
+                }
+            }
+            long found = find(root, buf, i, i, len, MACRO);
+            if (found < 0) {
+                buf[w++] = buf[i++];
+                continue;
+            }
+            TitleMacro macro = macros[(int) (found >>> 32)];
+            int end = (int) found;
+            if (macro.fallback()) {
+                if (deferred == null || deferredCount + 3 > deferred.length) {
+                    deferred = deferred == null ? new int[12] : Arrays.copyOf(deferred, deferred.length * 2);
+                }
+                deferred[deferredCount++] = (int) (found >>> 32);
+                deferred[deferredCount++] = w;
+                deferred[deferredCount++] = w + end - i;
+            } else if (macro.apply(ctx, buf, i, end)) {
+                i = end;
+                continue;
+            }
+            System.arraycopy(buf, i, buf, w, end - i);
+            w += end - i;
+            i = end;
+        }
+        if (deferred != null) {
+            w = applyDeferred(ctx, buf, w, deferred, deferredCount);
+        }
+        if (w == buf.length) {
+            return ctx.result(title.trim());
+        }
+        int start = 0;
+        while (start < w && buf[start] <= ' ') {
+            start++;
+        }
+        while (w > start && buf[w - 1] <= ' ') {
+            w--;
+        }
+        return ctx.result(new String(buf, start, w - start));
+    }
+
+    // Tokens in buf[from, len) are removed in place; returns the new length.
+    private int strip(TitleMacroContext ctx, char[] buf, int from, int len) {
+        int w = from;
+        for (int i = from; i < len; ) {
+            long token = root.child(buf[i]) == null ? -1 : find(root, buf, i, i, len, TOKEN);
+            if (token < 0) {
+                buf[w++] = buf[i++];
+                continue;
+            }
+            int end = (int) token;
+            if (!macros[(int) (token >>> 32)].apply(ctx, buf, i, end)) {
+                System.arraycopy(buf, i, buf, w, end - i);
+                w += end - i;
+            }
+            i = end;
+        }
+        return w;
+    }
+
+    // Fallbacks whose apply removes their text are cut out of buf[0, len); only the kept runs move.
+    private int applyDeferred(TitleMacroContext ctx, char[] buf, int len, int[] deferred, int count) {
+        int w = 0;
+        int r = 0;
+        for (int d = 0; d < count; d += 3) {
+            int from = deferred[d + 1];
+            int end = deferred[d + 2];
+            if (macros[deferred[d]].apply(ctx, buf, from, end)) {
+                System.arraycopy(buf, r, buf, w, from - r);
+                w += from - r;
+                r = end;
+            }
+        }
+        System.arraycopy(buf, r, buf, w, len - r);
+        return w + len - r;
+    }
+
+    // Deepest trigger first among macros of the given kind; packs the macro index and match end into
+    // one long, -1 if none matches.
+    private long find(Node node, char[] buf, int from, int j, int len, int kind) {
+        if ((node.kinds & kind) == 0) {
+            return -1;
+        }
+        if (j < len) {
+            Node next = node.child(buf[j]);
+            if (next != null) {
+                long found = find(next, buf, from, j + 1, len, kind);
+                if (found >= 0) {
+                    return found;
+                }
+            }
+        }
+        for (int m : node.macros) {
+            if (kinds[m] == kind) {
+                int end = macros[m].match(buf, from, len);
+                if (end >= 0) {
+                    return ((long) m << 32) | end;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static final class Node {
+        private char[] keys = new char[0];
+        private Node[] next = new Node[0];
+        private int[] macros = new int[0];
+        // TOKEN and/or MACRO: which kinds of trigger end in this subtree.
+        private int kinds;
+
+        Node child(char c) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == c) {
+                    return next[i];
+                }
+            }
+            return null;
+        }
+
+        Node add(char c) {
+            Node n = child(c);
+            if (n == null) {
+                n = new Node();
+                keys = Arrays.copyOf(keys, keys.length + 1);
+                next = Arrays.copyOf(next, next.length + 1);
+                keys[keys.length - 1] = c;
+                next[next.length - 1] = n;
+            }
+            return n;
+        }
+    }
+}
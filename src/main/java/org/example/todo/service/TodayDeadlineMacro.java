@@ -0,0 +1,35 @@
+package org.example.todo.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// A bare "!before" means "due today", but only when no other deadline macro matched
+// and no deadline is set; otherwise the text stays in the title.
+@Component
+public class TodayDeadlineMacro implements TitleMacro {
+
+    @Override
+    public List<String> triggers() {
+        return List.of(DeadlineMacro.BEFORE);
+    }
+
+    @Override
+    public boolean fallback() {
+        return true;
+    }
+
+    @Override
+    public int match(char[] text, int from, int to) {
+        return from + DeadlineMacro.BEFORE.length();
+    }
+
+    @Override
+    public boolean apply(TitleMacroContext ctx, char[] text, int from, int end) {
+        if (ctx.deadlineSet() || ctx.deadlineClaimed()) {
+            return false;
+        }
+        ctx.deadline(ctx.today());
+        return true;
+    }
+}
@@ -0,0 +1,30 @@
+package org.example.todo.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+public class TomorrowMacro implements TitleMacro {
+
+    private static final String TOMORROW = "!tomorrow";
+
+    @Override
+    public List<String> triggers() {
+        return List.of(TOMORROW);
+    }
+
+    @Override
+    public int match(char[] text, int from, int to) {
+        int end = from + TOMORROW.length();
+        return DeadlineMacro.wordEnds(text, end, to) ? end : -1;
+    }
+
+    @Override
+    public boolean apply(TitleMacroContext ctx, char[] text, int from, int end) {
+        if (ctx.claimDeadline() && !ctx.deadlineSet()) {
+            ctx.deadline(ctx.today().plusDays(1));
+        }
+        return true;
+    }
+}
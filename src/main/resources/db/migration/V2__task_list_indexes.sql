@@ -0,0 +1,7 @@
+ALTER TABLE tasks ALTER COLUMN title SET DATA TYPE VARCHAR(1000);
+
+CREATE INDEX idx_tasks_deadline_id ON tasks (deadline ASC NULLS LAST, id ASC);
+
+CREATE INDEX idx_tasks_created_at_id ON tasks (created_at DESC, id DESC);
+
+CREATE INDEX idx_tasks_status_deadline_id ON tasks (status, deadline, id);
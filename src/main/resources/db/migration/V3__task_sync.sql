@@ -0,0 +1,12 @@
+UPDATE tasks SET updated_at = created_at WHERE updated_at IS NULL;
+
+CREATE INDEX idx_tasks_updated_at_id ON tasks (updated_at, id);
+
+CREATE TABLE task_tombstones
+(
+    task_id    BIGINT                      NOT NULL,
+    deleted_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    CONSTRAINT pk_task_tombstones PRIMARY KEY (task_id)
+);
+
+CREATE INDEX idx_task_tombstones_deleted_at ON task_tombstones (deleted_at);
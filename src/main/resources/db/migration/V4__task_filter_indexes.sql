@@ -0,0 +1 @@
+CREATE INDEX idx_tasks_priority_deadline_id ON tasks (priority, deadline, id);
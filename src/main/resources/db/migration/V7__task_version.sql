@@ -0,0 +1,2 @@
+-- Optimistic locking: every write bumps the version, which is also the task's ETag.
+ALTER TABLE tasks ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,11 @@
+-- One row bumped in the same transaction as every task write; the list ETag and Last-Modified
+-- come from it, so every instance sharing the database agrees on them.
+CREATE TABLE task_list_version
+(
+    id          INT                         NOT NULL,
+    version     BIGINT                      NOT NULL,
+    modified_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    CONSTRAINT pk_task_list_version PRIMARY KEY (id)
+);
+
+INSERT INTO task_list_version (id, version, modified_at) VALUES (1, 0, CURRENT_TIMESTAMP);
@@ -0,0 +1,272 @@
+package org.example.todo.reactive;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.example.todo.model.TaskEntity;
+import org.example.todo.model.TaskFilter;
+import org.example.todo.model.TaskPriority;
+import org.example.todo.model.TaskSort;
+import org.example.todo.model.TaskStatus;
+import org.example.todo.model.TaskView;
+import org.example.todo.service.TaskCursor;
+import org.example.todo.service.TaskPageProperties;
+import org.example.todo.service.TaskRules;
+import org.example.todo.service.TitleMacroEngine;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.function.Function;
+
+// Same contract as TaskController for the list, stream and single-task endpoints, with the
+// rules taken from TaskRules and TitleMacroEngine so both variants agree on titles and statuses.
+public class ReactiveTaskHandler {
+
+    // Rows requested from the driver at a time while streaming; the client's demand does the rest.
+    private static final int STREAM_PREFETCH = 256;
+
+    private final ReactiveTaskRepository repo;
+    private final TitleMacroEngine macros;
+    private final Validator validator;
+    private final TransactionalOperator tx;
+    private final ReactiveTaskIdAllocator ids;
+    private final TaskPageProperties paging;
+
+    public ReactiveTaskHandler(ReactiveTaskRepository repo, TitleMacroEngine macros, Validator validator,
+                               TransactionalOperator tx, ReactiveTaskIdAllocator ids, TaskPageProperties paging) {
+        this.repo = repo;
+        this.ids = ids;
+        this.paging = paging;
+        this.macros = macros;
+        this.validator = validator;
+        this.tx = tx;
+    }
+
+    // As TaskController.list: 304 against the shared list version, then a keyset page of the filtered
+    // list with the next page announced in a Link header.
+    public Mono<ServerResponse> list(ServerRequest request) {
+        return repo.listVersion().flatMap(stamp -> {
+            Instant modified = Instant.ofEpochMilli(stamp.lastModified());
+            return request.checkNotModified(modified, stamp.etag())
+                    .switchIfEmpty(Mono.defer(() -> page(request, stamp.etag(), modified)));
+        });
+    }
+
+    private Mono<ServerResponse> page(ServerRequest request, String etag, Instant modified) {
+        TaskSort sort = TaskSort.of(request.queryParam("sort").orElse(""));
+        TaskFilter filter = new TaskFilter(
+                new HashSet<>(values(request, "status", TaskStatus::valueOf)),
+                new HashSet<>(values(request, "priority", TaskPriority::valueOf)),
+                date(request, "deadlineFrom"),
+                date(request, "deadlineTo"));
+        if (filter.deadlineFrom() != null && filter.deadlineTo() != null
+                && filter.deadlineFrom().isAfter(filter.deadlineTo())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "deadlineFrom must not be after deadlineTo");
+        }
+        int size = pageSize(request);
+        TaskCursor after = request.queryParam("cursor").map(c -> TaskCursor.decode(c, sort)).orElse(null);
+        return repo.findPage(filter, sort, after, size + 1).collectList().flatMap(tasks -> {
+            ServerResponse.BodyBuilder response = ServerResponse.ok().eTag(etag).lastModified(modified)
+                    .contentType(MediaType.APPLICATION_JSON);
+            if (tasks.size() <= size) {
+                return response.bodyValue(tasks);
+            }
+            List<TaskView> items = tasks.subList(0, size);
+            String next = UriComponentsBuilder.fromUri(request.uri()).scheme(null).host(null).port(-1)
+                    .replaceQueryParam("cursor", TaskCursor.after(sort, items.get(size - 1)).encode()).toUriString();
+            return response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"").bodyValue(items);
+        });
+    }
+
+    public Mono<ServerResponse> stream(ServerRequest request) {
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_NDJSON)
+                .body(repo.findAll(TaskSort.ID).limitRate(STREAM_PREFETCH), TaskView.class);
+    }
+
+    public Mono<ServerResponse> getOne(ServerRequest request) {
+        return repo.findById(id(request))
+                .switchIfEmpty(Mono.error(() -> new NoSuchElementException("Task not found")))
+                .flatMap(t -> request.checkNotModified(etag(t))
+                        .switchIfEmpty(Mono.defer(() -> withEtag(ServerResponse.ok(), t))));
+    }
+
+    public Mono<ServerResponse> create(ServerRequest request) {
+        return request.bodyToMono(TaskEntity.class)
+                .map(this::prepare)
+                .flatMap(t -> {
+                    LocalDateTime now = now();
+                    return ids.next().flatMap(id -> repo.insert(id, t, now));
+                })
+                .as(tx::transactional)
+                .flatMap(t -> repo.bumpListVersion().thenReturn(t))
+                .flatMap(t -> ServerResponse.status(HttpStatus.CREATED).bodyValue(t));
+    }
+
+    public Mono<ServerResponse> update(ServerRequest request) {
+        long id = id(request);
+        Long expected = expectedVersion(request);
+        return request.bodyToMono(TaskEntity.class)
+                .flatMap(in -> load(id, expected).flatMap(current -> {
+                    TaskEntity t = prepare(in);
+                    LocalDateTime now = now();
+                    return repo.update(id, current.version(), t, now)
+                            .flatMap(rows -> rows == 0 ? Mono.error(modified())
+                                    : Mono.just(new TaskView(id, t.getTitle(), t.getDescription(), t.getDeadline(),
+                                            t.getStatus(), t.getPriority(), current.createdAt(), now, current.version() + 1)));
+                }))
+                .as(tx::transactional)
+                .flatMap(t -> repo.bumpListVersion().thenReturn(t))
+                .flatMap(t -> withEtag(ServerResponse.ok(), t));
+    }
+
+    public Mono<ServerResponse> complete(ServerRequest request) {
+        return markCompleted(request, true);
+    }
+
+    public Mono<ServerResponse> uncomplete(ServerRequest request) {
+        return markCompleted(request, false);
+    }
+
+    public Mono<ServerResponse> delete(ServerRequest request) {
+        long id = id(request);
+        LocalDateTime now = now();
+        return repo.delete(id)
+                .flatMap(rows -> rows == 0 ? Mono.error(new NoSuchElementException("Task not found"))
+                        : repo.insertTombstone(id, now))
+                .as(tx::transactional)
+                .then(repo.bumpListVersion())
+                .then(ServerResponse.noContent().build());
+    }
+
+    private Mono<ServerResponse> markCompleted(ServerRequest request, boolean completed) {
+        long id = id(request);
+        Long expected = expectedVersion(request);
+        return load(id, expected)
+                .flatMap(current -> {
+                    TaskStatus status = TaskRules.completionStatus(completed, current.deadline(), LocalDate.now());
+                    LocalDateTime now = now();
+                    return repo.updateStatus(id, current.version(), status, now)
+                            .flatMap(rows -> rows == 0 ? Mono.error(modified())
+                                    : Mono.just(new TaskView(id, current.title(), current.description(),
+                                            current.deadline(), status, current.priority(), current.createdAt(), now,
+                                            current.version() + 1)));
+                })
+                .as(tx::transactional)
+                .flatMap(t -> repo.bumpListVersion().thenReturn(t))
+                .flatMap(t -> withEtag(ServerResponse.ok(), t));
+    }
+
+    private Mono<TaskView> load(long id, Long expectedVersion) {
+        return repo.findById(id)
+                .switchIfEmpty(Mono.error(() -> new NoSuchElementException("Task not found")))
+                .flatMap(t -> expectedVersion != null && t.version() != expectedVersion ? Mono.error(modified()) : Mono.just(t));
+    }
+
+    // Validation, macros and the opening status, exactly as TaskService applies them.
+    private TaskEntity prepare(TaskEntity in) {
+        for (ConstraintViolation<TaskEntity> v : validator.validate(in)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, v.getPropertyPath() + ": " + v.getMessage());
+        }
+        TaskRules.applyMacros(in, macros.parse(in.getTitle(), in.getDeadline() != null, LocalDate.now()));
+        in.setStatus(TaskRules.openStatus(in.getDeadline(), LocalDate.now()));
+        return in;
+    }
+
+    // Default and cap from todo.tasks.page, as TaskService applies them.
+    private int pageSize(ServerRequest request) {
+        Optional<String> limit = request.queryParam("limit");
+        if (limit.isEmpty()) {
+            return Math.min(paging.defaultLimit(), paging.maxLimit());
+        }
+        int value;
+        try {
+            value = Integer.parseInt(limit.get());
+        } catch (NumberFormatException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid limit");
+        }
+        if (value < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be positive");
+        }
+        return Math.min(value, paging.maxLimit());
+    }
+
+    // Repeated and comma-separated values both count, as with MVC's List binding.
+    private static <T> List<T> values(ServerRequest request, String name, Function<String, T> parse) {
+        try {
+            return request.queryParams().getOrDefault(name, List.of()).stream()
+                    .flatMap(v -> Arrays.stream(v.split(",")))
+                    .filter(v -> !v.isBlank())
+                    .map(v -> parse.apply(v.trim()))
+                    .toList();
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid " + name);
+        }
+    }
+
+    private static LocalDate date(ServerRequest request, String name) {
+        try {
+            return request.queryParam(name).map(LocalDate::parse).orElse(null);
+        } catch (DateTimeParseException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid " + name);
+        }
+    }
+
+    private static long id(ServerRequest request) {
+        try {
+            return Long.parseLong(request.pathVariable("id"));
+        } catch (NumberFormatException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid task id");
+        }
+    }
+
+    // The columns keep microseconds; rounding here makes the returned view equal the stored row.
+    private static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    private static String etag(TaskView t) {
+        return "\"" + t.version() + "\"";
+    }
+
+    private static Mono<ServerResponse> withEtag(ServerResponse.BodyBuilder response, TaskView t) {
+        return response.eTag(etag(t)).bodyValue(t);
+    }
+
+    // If-Match carries an ETag from a previous read; "*" only requires the task to exist.
+    private static Long expectedVersion(ServerRequest request) {
+        String ifMatch = request.headers().firstHeader(HttpHeaders.IF_MATCH);
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Long.parseLong(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException ignored) {
+                // falls through to 412 like any other tag we never issued
+            }
+        }
+        throw modified();
+    }
+
+    private static OptimisticLockingFailureException modified() {
+        return new OptimisticLockingFailureException("Task has been modified");
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.todo.reactive;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+// Reactive counterpart of TaskIdAllocator: each nextval on task_id_seq is the last id of a block, as
+// Hibernate's pooled optimizer reads it, so a block serves that many inserts instead of one. The
+// block size is the sequence's own increment. The lock only guards the counters, never the query.
+public class ReactiveTaskIdAllocator {
+
+    private final DatabaseClient db;
+    private final String nextval;
+    private final Mono<Long> block;
+    private final ReentrantLock lock = new ReentrantLock();
+    private long next = 1;
+    private long last = 0;
+
+    public ReactiveTaskIdAllocator(DatabaseClient db) {
+        this.db = db;
+        boolean postgres = "PostgreSQL".equals(db.getConnectionFactory().getMetadata().getName());
+        this.nextval = postgres ? "select nextval('task_id_seq') as id" : "select next value for task_id_seq as id";
+        this.block = db.sql(postgres
+                        ? "select increment_by as size from pg_sequences where schemaname = current_schema() and sequencename = 'task_id_seq'"
+                        : "select increment as size from information_schema.sequences where sequence_schema = schema() and sequence_name = 'TASK_ID_SEQ'")
+                .map(row -> row.get("size", Long.class))
+                .one()
+                .cache();
+    }
+
+    public Mono<Long> next() {
+        lock.lock();
+        try {
+            if (next <= last) {
+                return Mono.just(next++);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return block.zipWith(db.sql(nextval).map(row -> row.get("id", Long.class)).one(), this::refill);
+    }
+
+    // Concurrent refills each get a block of their own; the later one replaces what is left of the
+    // earlier, which only skips ids.
+    private long refill(long size, long end) {
+        lock.lock();
+        try {
+            next = end - size + 2;
+            last = end;
+            return end - size + 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package org.example.todo.reactive;
+
+import io.r2dbc.spi.Readable;
+import org.example.todo.model.TaskEntity;
+import org.example.todo.model.TaskFilter;
+import org.example.todo.model.TaskPriority;
+import org.example.todo.model.TaskSort;
+import org.example.todo.model.TaskStatus;
+import org.example.todo.model.TaskView;
+import org.example.todo.service.TaskCursor;
+import org.example.todo.service.TaskListVersion;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Plain SQL over the schema Flyway manages for the servlet variant. Writes keep the shared database
+// state (tombstones, list version) in step; the servlet instances' in-memory caches, stats and
+// deadline wheel get no events from here and only catch up on their own reconcile or expiry.
+public class ReactiveTaskRepository {
+
+    private static final String COLUMNS =
+            "select id, title, description, deadline, status, priority, created_at, updated_at, version from tasks ";
+
+    private final DatabaseClient db;
+    private final boolean postgres;
+    // Last-Modified while there are no tasks or tombstones yet, as in TaskListVersion.
+    private final long started = System.currentTimeMillis();
+
+    public ReactiveTaskRepository(DatabaseClient db) {
+        this.db = db;
+        this.postgres = "PostgreSQL".equals(db.getConnectionFactory().getMetadata().getName());
+    }
+
+    public Flux<TaskView> findAll(TaskSort sort) {
+        return db.sql(COLUMNS + order(sort)).map(ReactiveTaskRepository::view).all();
+    }
+
+    // The GET /api/tasks page: same filters and keyset conditions as TaskQueriesImpl.findViews.
+    public Flux<TaskView> findPage(TaskFilter filter, TaskSort sort, TaskCursor after, int limit) {
+        List<String> where = new ArrayList<>();
+        Map<String, Object> params = new LinkedHashMap<>();
+        if (!filter.statuses().isEmpty()) {
+            where.add("status in (:statuses)");
+            params.put("statuses", filter.statuses().stream().map(Enum::name).toList());
+        }
+        if (!filter.priorities().isEmpty()) {
+            where.add("priority in (:priorities)");
+            params.put("priorities", filter.priorities().stream().map(Enum::name).toList());
+        }
+        if (filter.deadlineFrom() != null) {
+            where.add("deadline >= :deadlineFrom");
+            params.put("deadlineFrom", filter.deadlineFrom());
+        }
+        if (filter.deadlineTo() != null) {
+            where.add("deadline <= :deadlineTo");
+            params.put("deadlineTo", filter.deadlineTo());
+        }
+        if (after != null) {
+            params.put("afterId", after.id());
+            switch (sort) {
+                case ID -> where.add("id > :afterId");
+                case CREATED -> {
+                    where.add("(created_at < :afterKey or (created_at = :afterKey and id < :afterId))");
+                    params.put("afterKey", after.createdAt());
+                }
+                case DEADLINE -> {
+                    if (after.deadline() == null) {
+                        where.add("(deadline is null and id > :afterId)");
+                    } else {
+                        where.add("(deadline > :afterKey or (deadline = :afterKey and id > :afterId) or deadline is null)");
+                        params.put("afterKey", after.deadline());
+                    }
+                }
+            }
+        }
+        String sql = COLUMNS + (where.isEmpty() ? "" : "where " + String.join(" and ", where) + " ")
+                + order(sort) + " limit :limit";
+        DatabaseClient.GenericExecuteSpec spec = db.sql(sql).bind("limit", limit);
+        for (Map.Entry<String, Object> p : params.entrySet()) {
+            spec = spec.bind(p.getKey(), p.getValue());
+        }
+        return spec.map(ReactiveTaskRepository::view).all();
+    }
+
+    private static String order(TaskSort sort) {
+        return switch (sort) {
+            case DEADLINE -> "order by deadline asc nulls last, id asc";
+            case CREATED -> "order by created_at desc, id desc";
+            case ID -> "order by id asc";
+        };
+    }
+
+    // Same view and tag format as TaskListVersion, so a tag from either variant validates on both.
+    public Mono<TaskListVersion.Stamp> listVersion() {
+        return db.sql("select version, modified_at from task_list_version")
+                .map(row -> {
+                    LocalDateTime at = row.get("modified_at", LocalDateTime.class);
+                    return TaskListVersion.Stamp.of(row.get("version", Long.class),
+                            at != null ? at.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : started);
+                })
+                .one();
+    }
+
+    public Mono<TaskView> findById(long id) {
+        return db.sql(COLUMNS + "where id = :id").bind("id", id).map(ReactiveTaskRepository::view).one();
+    }
+
+    // The id comes from ReactiveTaskIdAllocator; the column default would spend a whole id block per row.
+    public Mono<TaskView> insert(long id, TaskEntity t, LocalDateTime now) {
+        DatabaseClient.GenericExecuteSpec spec = db.sql("""
+                insert into tasks (id, title, description, deadline, status, priority, created_at, updated_at, version)
+                values (:id, :title, :description, :deadline, :status, :priority, :now, :now, 0)""");
+        return fields(spec, t).bind("id", id).bind("now", now)
+                .then()
+                .thenReturn(new TaskView(id, t.getTitle(), t.getDescription(), t.getDeadline(), t.getStatus(),
+                        t.getPriority(), now, now, 0));
+    }
+
+    // Succeeds only while the row still has the version that was read; 0 rows means someone else won.
+    public Mono<Long> update(long id, long version, TaskEntity t, LocalDateTime now) {
+        DatabaseClient.GenericExecuteSpec spec = db.sql("""
+                update tasks set title = :title, description = :description, deadline = :deadline,
+                    status = :status, priority = :priority, updated_at = :now, version = version + 1
+                where id = :id and version = :version""");
+        return fields(spec, t).bind("now", now).bind("id", id).bind("version", version).fetch().rowsUpdated();
+    }
+
+    public Mono<Long> updateStatus(long id, long version, TaskStatus status, LocalDateTime now) {
+        return db.sql("""
+                        update tasks set status = :status, updated_at = :now, version = version + 1
+                        where id = :id and version = :version""")
+                .bind("status", status.name()).bind("now", now).bind("id", id).bind("version", version)
+                .fetch().rowsUpdated();
+    }
+
+    public Mono<Long> delete(long id) {
+        return db.sql("delete from tasks where id = :id").bind("id", id).fetch().rowsUpdated();
+    }
+
+    // /changes on the servlet side reports deletions from here.
+    public Mono<Void> insertTombstone(long id, LocalDateTime now) {
+        return db.sql("insert into task_tombstones (task_id, deleted_at) values (:id, :now)")
+                .bind("id", id).bind("now", now).then();
+    }
+
+    // The sequence TaskListVersion advances, so list ETags issued by servlet instances go stale on
+    // reactive writes. Called after the write commits, as TaskListVersion does.
+    public Mono<Void> bumpListVersion() {
+        return db.sql(postgres ? "select nextval('task_list_version_seq')" : "select next value for task_list_version_seq")
+                .fetch().first().then();
+    }
+
+    private static DatabaseClient.GenericExecuteSpec fields(DatabaseClient.GenericExecuteSpec spec, TaskEntity t) {
+        spec = spec.bind("title", t.getTitle()).bind("status", t.getStatus().name());
+        spec = t.getDescription() != null ? spec.bind("description", t.getDescription()) : spec.bindNull("description", String.class);
+        spec = t.getDeadline() != null ? spec.bind("deadline", t.getDeadline()) : spec.bindNull("deadline", LocalDate.class);
+        return t.getPriority() != null ? spec.bind("priority", t.getPriority().name()) : spec.bindNull("priority", String.class);
+    }
+
+    private static TaskView view(Readable row) {
+        String priority = row.get("priority", String.class);
+        return new TaskView(
+                row.get("id", Long.class),
+                row.get("title", String.class),
+                row.get("description", String.class),
+                row.get("deadline", LocalDate.class),
+                TaskStatus.valueOf(row.get("status", String.class)),
+                priority != null ? TaskPriority.valueOf(priority) : null,
+                row.get("created_at", LocalDateTime.class),
+                row.get("updated_at", LocalDateTime.class),
+                row.get("version", Long.class));
+    }
+}
@@ -0,0 +1,105 @@
+package org.example.todo.reactive;
+
+import jakarta.validation.Validator;
+import org.example.todo.service.TaskPageProperties;
+import org.example.todo.service.TitleMacro;
+import org.example.todo.service.TitleMacroEngine;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.jpa.JpaRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.util.NoSuchElementException;
+
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+// WebFlux + R2DBC deployment of the /api/tasks contract; built with -Preactive and started with
+// the "reactive" profile. Only the title macros are shared with the servlet application, the rest
+// of its beans are declared here so that TodoApplication's component scan never sees them.
+@Profile("reactive")
+@SpringBootConfiguration
+@EnableAutoConfiguration(exclude = {DataSourceAutoConfiguration.class, DataSourceTransactionManagerAutoConfiguration.class,
+        HibernateJpaAutoConfiguration.class, JpaRepositoriesAutoConfiguration.class})
+@EnableConfigurationProperties(TaskPageProperties.class)
+@ComponentScan(basePackageClasses = TitleMacro.class, useDefaultFilters = false,
+        includeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = {TitleMacro.class, TitleMacroEngine.class}))
+public class ReactiveTodoApplication {
+
+    public static void main(String[] args) {
+        SpringApplication app = new SpringApplication(ReactiveTodoApplication.class);
+        app.setAdditionalProfiles("reactive");
+        app.run(args);
+    }
+
+    // starter-web keeps Tomcat on the classpath; declaring Netty keeps request handling on its event loops.
+    @Bean
+    NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean
+    ReactiveTaskRepository reactiveTaskRepository(DatabaseClient db) {
+        return new ReactiveTaskRepository(db);
+    }
+
+    @Bean
+    ReactiveTaskIdAllocator reactiveTaskIdAllocator(DatabaseClient db) {
+        return new ReactiveTaskIdAllocator(db);
+    }
+
+    @Bean
+    ReactiveTaskHandler reactiveTaskHandler(ReactiveTaskRepository repo, TitleMacroEngine macros, Validator validator,
+                                            TransactionalOperator tx, ReactiveTaskIdAllocator ids,
+                                            TaskPageProperties paging) {
+        return new ReactiveTaskHandler(repo, macros, validator, tx, ids, paging);
+    }
+
+    @Bean
+    RouterFunction<ServerResponse> taskRoutes(ReactiveTaskHandler tasks) {
+        return route()
+                .path("/api/tasks", b -> b
+                        .GET("", tasks::list)
+                        .GET("/stream", tasks::stream)
+                        .GET("/{id}", tasks::getOne)
+                        .POST("", tasks::create)
+                        .PUT("/{id}", tasks::update)
+                        .DELETE("/{id}", tasks::delete)
+                        .PATCH("/{id}/complete", tasks::complete)
+                        .PATCH("/{id}/uncomplete", tasks::uncomplete))
+                // deferred so that failures thrown while reading the path or headers are mapped too
+                .filter((request, next) -> Mono.defer(() -> next.handle(request))
+                        .onErrorResume(RuntimeException.class, ReactiveTodoApplication::error))
+                .build();
+    }
+
+    // Same mapping as GlobalExceptionHandler: plain-text message, status chosen by exception type.
+    private static Mono<ServerResponse> error(RuntimeException ex) {
+        if (ex instanceof OptimisticLockingFailureException) {
+            return ServerResponse.status(HttpStatus.PRECONDITION_FAILED).bodyValue("Task has been modified");
+        }
+        if (ex instanceof ResponseStatusException rse) {
+            return ServerResponse.status(rse.getStatusCode()).bodyValue(rse.getMessage());
+        }
+        HttpStatus status = ex instanceof NoSuchElementException || ex instanceof IllegalArgumentException
+                ? HttpStatus.NOT_FOUND : HttpStatus.BAD_REQUEST;
+        return ex.getMessage() != null ? ServerResponse.status(status).bodyValue(ex.getMessage())
+                : ServerResponse.status(status).build();
+    }
+}
@@ -0,0 +1,268 @@
+package org.example.todo.reactive;
+
+import org.example.todo.model.TaskPriority;
+import org.example.todo.model.TaskStatus;
+import org.example.todo.model.TaskView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(classes = ReactiveTodoApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("reactive")
+class ReactiveTaskRoutesTest {
+
+    @Autowired WebTestClient client;
+    @Autowired DatabaseClient db;
+
+    @BeforeEach
+    void clean() {
+        db.sql("delete from tasks").then().block();
+    }
+
+    private TaskView create(String title) {
+        return client.post().uri("/api/tasks").bodyValue(Map.of("title", title))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(TaskView.class).returnResult().getResponseBody();
+    }
+
+    @Test
+    @DisplayName("Создание применяет макросы так же, как сервлетная версия")
+    void createAppliesMacros() {
+        TaskView t = create("Сдать отчёт !1 !before 31.12.2099");
+
+        assertNotNull(t.id());
+        assertEquals("Сдать отчёт", t.title());
+        assertEquals(TaskPriority.Critical, t.priority());
+        assertEquals(LocalDate.of(2099, 12, 31), t.deadline());
+        assertEquals(TaskStatus.Active, t.status());
+        assertEquals(0, t.version());
+    }
+
+    @Test
+    @DisplayName("Короткий заголовок и неверная дата дают 400")
+    void invalidTitlesAreRejected() {
+        client.post().uri("/api/tasks").bodyValue(Map.of("title", "!1 abc"))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(String.class).isEqualTo("400 BAD_REQUEST \"Title must be at least 4 characters long\"");
+        client.post().uri("/api/tasks").bodyValue(Map.of("title", "Задача !before 32.13.2099"))
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("GET возвращает ETag и отвечает 304 на совпадающий If-None-Match")
+    void getHonoursEtag() {
+        TaskView t = create("Прочитать книгу");
+
+        client.get().uri("/api/tasks/{id}", t.id()).exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"0\"")
+                .expectBody(TaskView.class).isEqualTo(t);
+        client.get().uri("/api/tasks/{id}", t.id()).header(HttpHeaders.IF_NONE_MATCH, "\"0\"").exchange()
+                .expectStatus().isNotModified();
+        client.get().uri("/api/tasks/{id}", t.id() + 1000).exchange()
+                .expectStatus().isNotFound()
+                .expectBody(String.class).isEqualTo("Task not found");
+    }
+
+    @Test
+    @DisplayName("Завершение после дедлайна даёт Late, отмена возвращает Overdue")
+    void completionUsesSharedRules() {
+        TaskView t = create("Просроченная задача");
+        String yesterday = LocalDate.now().minusDays(1).toString();
+        db.sql("update tasks set deadline = '" + yesterday + "' where id = " + t.id()).then().block();
+
+        client.patch().uri("/api/tasks/{id}/complete", t.id()).exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1\"")
+                .expectBody().jsonPath("$.status").isEqualTo("Late");
+        client.patch().uri("/api/tasks/{id}/uncomplete", t.id()).exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.status").isEqualTo("Overdue").jsonPath("$.version").isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("PUT и PATCH проверяют If-Match")
+    void ifMatchIsChecked() {
+        TaskView t = create("Версионированная задача");
+        String deadline = LocalDate.now().plusDays(3).format(DateTimeFormatter.ofPattern("dd.MM.yyyy"));
+
+        client.put().uri("/api/tasks/{id}", t.id()).header(HttpHeaders.IF_MATCH, "\"0\"")
+                .bodyValue(Map.of("title", "Новое название !2 !before " + deadline))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1\"")
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("Новое название")
+                .jsonPath("$.priority").isEqualTo("High");
+        client.put().uri("/api/tasks/{id}", t.id()).header(HttpHeaders.IF_MATCH, "\"0\"")
+                .bodyValue(Map.of("title", "Устаревшая правка"))
+                .exchange()
+                .expectStatus().isEqualTo(412)
+                .expectBody(String.class).isEqualTo("Task has been modified");
+        client.patch().uri("/api/tasks/{id}/complete", t.id()).header(HttpHeaders.IF_MATCH, "W/\"abc\"").exchange()
+                .expectStatus().isEqualTo(412);
+        client.patch().uri("/api/tasks/{id}/complete", t.id()).header(HttpHeaders.IF_MATCH, "*").exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    @DisplayName("DELETE отвечает 204, повторный — 404")
+    void deleteTask() {
+        TaskView t = create("Удаляемая задача");
+
+        client.delete().uri("/api/tasks/{id}", t.id()).exchange().expectStatus().isNoContent();
+        client.delete().uri("/api/tasks/{id}", t.id()).exchange().expectStatus().isNotFound();
+    }
+
+    @Test
+    @DisplayName("Записи двигают общую версию списка, удаление оставляет tombstone")
+    void writesKeepSharedStateInStep() {
+        long start = listVersion();
+        TaskView t = create("Общая версия списка");
+        assertEquals(start + 1, listVersion());
+
+        client.patch().uri("/api/tasks/{id}/complete", t.id()).exchange().expectStatus().isOk();
+        assertEquals(start + 2, listVersion());
+
+        client.delete().uri("/api/tasks/{id}", t.id()).exchange().expectStatus().isNoContent();
+        assertEquals(start + 3, listVersion());
+        assertEquals(1L, db.sql("select count(*) as n from task_tombstones where task_id = :id").bind("id", t.id())
+                .map(row -> row.get("n", Long.class)).one().block());
+
+        client.delete().uri("/api/tasks/{id}", t.id()).exchange().expectStatus().isNotFound();
+        assertEquals(start + 3, listVersion());
+    }
+
+    private long listVersion() {
+        return db.sql("select version from task_list_version")
+                .map(row -> row.get("version", Long.class)).one().block();
+    }
+
+    @Test
+    @DisplayName("Список сортируется как в сервлетной версии")
+    void listSorting() {
+        TaskView late = create("Поздний дедлайн !before 31.12.2099");
+        TaskView none = create("Без дедлайна");
+        TaskView early = create("Ранний дедлайн !before 01.01.2099");
+
+        List<Long> byDeadline = client.get().uri("/api/tasks?sort=deadline").exchange()
+                .expectStatus().isOk()
+                .expectBodyList(TaskView.class).returnResult().getResponseBody()
+                .stream().map(TaskView::id).toList();
+        assertEquals(List.of(early.id(), late.id(), none.id()), byDeadline);
+
+        List<Long> byId = client.get().uri("/api/tasks").exchange()
+                .expectBodyList(TaskView.class).returnResult().getResponseBody()
+                .stream().map(TaskView::id).toList();
+        assertEquals(List.of(late.id(), none.id(), early.id()), byId);
+    }
+
+    @Test
+    @DisplayName("Список отдаётся страницами с фильтрами и ссылкой rel=next")
+    void listPagesAndFilters() {
+        TaskView first = create("Первая !1");
+        TaskView second = create("Вторая");
+        TaskView third = create("Третья !1");
+
+        List<TaskView> page = client.get().uri("/api/tasks?limit=2").exchange()
+                .expectStatus().isOk()
+                .expectBodyList(TaskView.class).returnResult().getResponseBody();
+        assertEquals(List.of(first.id(), second.id()), page.stream().map(TaskView::id).toList());
+        String link = client.get().uri("/api/tasks?limit=2").exchange()
+                .returnResult(TaskView.class).getResponseHeaders().getFirst(HttpHeaders.LINK);
+        assertNotNull(link);
+        String next = link.substring(link.indexOf('<') + 1, link.indexOf('>'));
+        assertTrue(next.startsWith("/api/tasks?"), next);
+
+        client.get().uri(next).exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(HttpHeaders.LINK)
+                .expectBodyList(TaskView.class).hasSize(1).contains(third);
+
+        List<Long> critical = client.get().uri("/api/tasks?priority=Critical").exchange()
+                .expectBodyList(TaskView.class).returnResult().getResponseBody()
+                .stream().map(TaskView::id).toList();
+        assertEquals(List.of(first.id(), third.id()), critical);
+
+        client.get().uri("/api/tasks?deadlineFrom=2099-02-01&deadlineTo=2099-01-01").exchange()
+                .expectStatus().isBadRequest();
+        client.get().uri("/api/tasks?limit=0").exchange().expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("Список отвечает 304 по общей версии, пока задачи не менялись")
+    void listHonoursListVersion() {
+        create("До запроса");
+        String etag = client.get().uri("/api/tasks").exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(HttpHeaders.LAST_MODIFIED)
+                .returnResult(TaskView.class).getResponseHeaders().getETag();
+        assertNotNull(etag);
+
+        client.get().uri("/api/tasks").header(HttpHeaders.IF_NONE_MATCH, etag).exchange()
+                .expectStatus().isNotModified();
+
+        create("После запроса");
+        client.get().uri("/api/tasks").header(HttpHeaders.IF_NONE_MATCH, etag).exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    @DisplayName("Создание берёт id из блока, а не тратит блок на каждую задачу")
+    void createsShareAnIdBlock() {
+        long before = idSequence();
+        TaskView a = create("Блок 1");
+        TaskView b = create("Блок 2");
+        TaskView c = create("Блок 3");
+
+        assertTrue(idSequence() - before <= 50, "at most one block taken for three inserts");
+        assertEquals(3, Set.of(a.id(), b.id(), c.id()).size());
+    }
+
+    private long idSequence() {
+        return db.sql("select base_value from information_schema.sequences where sequence_name = 'TASK_ID_SEQ'")
+                .map(row -> row.get("base_value", Long.class)).one().block();
+    }
+
+    @Test
+    @DisplayName("Поток NDJSON отдаёт задачи по мере запроса клиента")
+    void streamFollowsDemand() {
+        for (int i = 0; i < 600; i++) {
+            db.sql("insert into tasks (title, status, priority, created_at) values ('Задача " + i + "', 'Active', 'Medium', now())")
+                    .then().block();
+        }
+
+        Flux<TaskView> body = client.get().uri("/api/tasks/stream").accept(MediaType.APPLICATION_NDJSON).exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(TaskView.class).getResponseBody();
+
+        StepVerifier.create(body, 10)
+                .expectNextCount(10)
+                .thenRequest(590)
+                .expectNextCount(590)
+                .verifyComplete();
+    }
+}
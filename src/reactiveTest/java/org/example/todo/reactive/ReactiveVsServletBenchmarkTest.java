@@ -0,0 +1,147 @@
+package org.example.todo.reactive;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.example.todo.TodoApplication;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Same requests, same data, both stacks in one JVM: closed-loop clients at fixed concurrency,
+// throughput and latency percentiles per endpoint. Run with
+//   mvn test -Preactive,benchmark -Dtest=ReactiveVsServletBenchmarkTest
+@Tag("benchmark")
+class ReactiveVsServletBenchmarkTest {
+
+    private static final int ROWS = 500;
+    private static final int CONCURRENCY = 32;
+    private static final int WARMUP = 500;
+    private static final int REQUESTS = 3_000;
+    private static final long MAX_LATENCY_MICROS = TimeUnit.SECONDS.toMicros(60);
+
+    private static final HttpClient http = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+    private static ConfigurableApplicationContext servlet;
+    private static ConfigurableApplicationContext reactive;
+
+    @BeforeAll
+    static void start() {
+        servlet = new SpringApplicationBuilder(TodoApplication.class)
+                .properties("server.port=0", "spring.datasource.url=jdbc:h2:mem:servlet-bench;DB_CLOSE_DELAY=-1")
+                .run();
+        reactive = new SpringApplicationBuilder(ReactiveTodoApplication.class)
+                .profiles("reactive")
+                .properties("server.port=0",
+                        "spring.r2dbc.url=r2dbc:h2:mem:///reactive-bench;DB_CLOSE_DELAY=-1",
+                        "spring.flyway.url=jdbc:h2:mem:reactive-bench;DB_CLOSE_DELAY=-1")
+                .run();
+        String insert = "insert into tasks (title, status, priority, created_at, updated_at) "
+                + "select 'Benchmark task ' || x, 'Active', 'Medium', now(), now() from system_range(1, " + ROWS + ")";
+        servlet.getBean(JdbcTemplate.class).update(insert);
+        reactive.getBean(DatabaseClient.class).sql(insert).then().block();
+    }
+
+    @AfterAll
+    static void stop() {
+        servlet.close();
+        reactive.close();
+    }
+
+    @Test
+    @DisplayName("WebFlux/R2DBC против Servlet/JPA на одинаковых запросах")
+    void compareStacks() throws Exception {
+        System.out.printf("%-8s %-8s %10s %9s %9s %9s%n", "stack", "endpoint", "req/s", "p50 ms", "p99 ms", "max ms");
+        for (String endpoint : List.of("get", "list", "stream", "create")) {
+            for (ConfigurableApplicationContext app : List.of(servlet, reactive)) {
+                String stack = app == servlet ? "servlet" : "reactive";
+                long[] ids = ids(app);
+                run(app, endpoint, ids, WARMUP, new ConcurrentHistogram(MAX_LATENCY_MICROS, 3));
+
+                Histogram latency = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+                long started = System.nanoTime();
+                long errors = run(app, endpoint, ids, REQUESTS, latency);
+                double seconds = (System.nanoTime() - started) / 1e9;
+
+                System.out.printf("%-8s %-8s %10.0f %9.2f %9.2f %9.2f%n", stack, endpoint, REQUESTS / seconds,
+                        latency.getValueAtPercentile(50) / 1000.0, latency.getValueAtPercentile(99) / 1000.0,
+                        latency.getMaxValue() / 1000.0);
+                assertEquals(0, errors, stack + " " + endpoint);
+            }
+        }
+    }
+
+    private static long[] ids(ConfigurableApplicationContext app) {
+        String sql = "select id from tasks order by id limit 500";
+        if (app == servlet) {
+            return app.getBean(JdbcTemplate.class).queryForList(sql, Long.class).stream().mapToLong(Long::longValue).toArray();
+        }
+        return app.getBean(DatabaseClient.class).sql(sql).map(row -> row.get(0, Long.class)).all()
+                .collectList().block().stream().mapToLong(Long::longValue).toArray();
+    }
+
+    // Each of the CONCURRENCY workers sends its next request as soon as the previous one answers.
+    private static long run(ConfigurableApplicationContext app, String endpoint, long[] ids, int requests,
+                            Histogram latency) throws InterruptedException {
+        int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+        AtomicLong remaining = new AtomicLong(requests);
+        AtomicLong errors = new AtomicLong();
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Runnable> clients = new ArrayList<>();
+            for (int c = 0; c < CONCURRENCY; c++) {
+                clients.add(() -> {
+                    while (remaining.getAndDecrement() > 0) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = http.send(request(port, endpoint, ids),
+                                    HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() >= 400) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception ex) {
+                            errors.incrementAndGet();
+                        }
+                        latency.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start),
+                                MAX_LATENCY_MICROS));
+                    }
+                });
+            }
+            clients.forEach(workers::execute);
+        }
+        return errors.get();
+    }
+
+    private static HttpRequest request(int port, String endpoint, long[] ids) {
+        long id = ids[ThreadLocalRandom.current().nextInt(ids.length)];
+        String base = "http://localhost:" + port + "/api/tasks";
+        return switch (endpoint) {
+            case "get" -> HttpRequest.newBuilder(URI.create(base + "/" + id)).GET().build();
+            case "list" -> HttpRequest.newBuilder(URI.create(base + "?sort=deadline")).GET().build();
+            case "stream" -> HttpRequest.newBuilder(URI.create(base + "/stream")).GET().build();
+            case "create" -> HttpRequest.newBuilder(URI.create(base))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"title\":\"Новая задача !2\"}"))
+                    .build();
+            default -> throw new IllegalArgumentException("Unknown endpoint " + endpoint);
+        };
+    }
+}
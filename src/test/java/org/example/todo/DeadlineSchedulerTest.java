@@ -0,0 +1,129 @@
+package org.example.todo;
+
+import org.example.todo.model.TaskEntity;
+import org.example.todo.model.TaskStatus;
+import org.example.todo.repository.TaskRepository;
+import org.example.todo.service.DeadlineScheduler;
+import org.example.todo.service.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "todo.deadlines.max-entries=3")
+class DeadlineSchedulerTest {
+
+    @Autowired DeadlineScheduler scheduler;
+    @Autowired TaskService service;
+    @Autowired TaskRepository repo;
+
+    private final LocalDate today = LocalDate.now();
+
+    @BeforeEach
+    void clean() {
+        repo.deleteAll();
+        scheduler.reload();
+    }
+
+    private Long create(String title, LocalDate deadline) {
+        TaskEntity t = new TaskEntity();
+        t.setTitle(title);
+        t.setDeadline(deadline);
+        return service.create(t).getId();
+    }
+
+    private TaskStatus status(Long id) {
+        return repo.findById(id).orElseThrow().getStatus();
+    }
+
+    @Test
+    @DisplayName("Переводит задачу в Overdue ровно на следующий день после дедлайна")
+    void firesOnDayAfterDeadline() {
+        Long due = create("Due today", today);
+        Long later = create("Due next week", today.plusDays(7));
+
+        assertEquals(0, scheduler.advanceTo(today));
+        assertEquals(1, scheduler.advanceTo(today.plusDays(1)));
+        assertEquals(TaskStatus.Overdue, status(due));
+        assertEquals(TaskStatus.Active, status(later));
+
+        assertEquals(0, scheduler.advanceTo(today.plusDays(7)));
+        assertEquals(1, scheduler.advanceTo(today.plusDays(8)));
+        assertEquals(TaskStatus.Overdue, status(later));
+    }
+
+    @Test
+    @DisplayName("Не трогает завершённые и удалённые задачи")
+    void forgetsCompletedAndDeleted() {
+        Long done = create("Completed one", today.plusDays(1));
+        Long gone = create("Deleted one", today.plusDays(1));
+        service.markCompleted(done, true);
+        service.delete(gone);
+
+        assertEquals(0, scheduler.scheduled());
+        assertEquals(0, scheduler.advanceTo(today.plusDays(3)));
+        assertEquals(TaskStatus.Completed, status(done));
+    }
+
+    @Test
+    @DisplayName("Держит в памяти не больше лимита и подгружает дальние дедлайны по мере движения")
+    void boundedAndPagedIn() {
+        Long[] ids = new Long[5];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = create("Task number " + i, today.plusDays(10L * (i + 1)));
+        }
+        Long far = create("Far future", today.plusDays(5000));
+        assertTrue(scheduler.scheduled() <= 3);
+
+        assertEquals(5, scheduler.advanceTo(today.plusDays(51)));
+        for (Long id : ids) {
+            assertEquals(TaskStatus.Overdue, status(id));
+        }
+        assertEquals(TaskStatus.Active, status(far));
+
+        assertEquals(1, scheduler.advanceTo(today.plusDays(5001)));
+        assertEquals(TaskStatus.Overdue, status(far));
+    }
+
+    @Test
+    @DisplayName("День с дедлайнами сверх лимита не останавливает подгрузку")
+    void dayOverCapDoesNotStall() {
+        Long[] sameDay = new Long[5];
+        for (int i = 0; i < sameDay.length; i++) {
+            sameDay[i] = create("Same day " + i, today.plusDays(10));
+        }
+        Long after = create("Day after", today.plusDays(20));
+        assertTrue(scheduler.scheduled() <= 3);
+
+        assertEquals(5, scheduler.advanceTo(today.plusDays(11)));
+        for (Long id : sameDay) {
+            assertEquals(TaskStatus.Overdue, status(id));
+        }
+        assertEquals(1, scheduler.advanceTo(today.plusDays(21)));
+        assertEquals(TaskStatus.Overdue, status(after));
+    }
+
+    @Test
+    @DisplayName("При загрузке день сверх лимита пропускается и остаётся sweeper'у, следующие дни срабатывают")
+    void reloadSkipsDayOverCap() {
+        Long[] sameDay = new Long[5];
+        for (int i = 0; i < sameDay.length; i++) {
+            sameDay[i] = create("Same day " + i, today.plusDays(10));
+        }
+        Long after = create("Day after", today.plusDays(20));
+        scheduler.reload();
+        assertEquals(1, scheduler.scheduled());
+
+        assertEquals(1, scheduler.advanceTo(today.plusDays(21)));
+        assertEquals(TaskStatus.Overdue, status(after));
+        for (Long id : sameDay) {
+            assertEquals(TaskStatus.Active, status(id));
+        }
+    }
+}
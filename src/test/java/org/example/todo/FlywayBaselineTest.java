@@ -0,0 +1,48 @@
+package org.example.todo;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// A database created by the pre-Flyway update-schema.sql: tables present, no schema history.
+@SpringBootTest
+class FlywayBaselineTest {
+
+    private static final String URL = "jdbc:h2:mem:legacy-install;DB_CLOSE_DELAY=-1";
+
+    @Autowired JdbcTemplate jdbc;
+
+    @DynamicPropertySource
+    static void legacyDatabase(DynamicPropertyRegistry registry) throws Exception {
+        try (Connection c = DriverManager.getConnection(URL, "sa", "")) {
+            String schema = new ClassPathResource("db/migration/V1__create_tasks.sql").getContentAsString(StandardCharsets.UTF_8);
+            c.createStatement().execute(schema);
+            c.createStatement().execute("INSERT INTO tasks (title, status, priority, created_at) "
+                    + "VALUES ('Старая задача', 'Active', 'Medium', CURRENT_TIMESTAMP)");
+        }
+        registry.add("spring.datasource.url", () -> URL);
+    }
+
+    @Test
+    @DisplayName("Существующая схема без истории принимается за V1, остальные миграции применяются")
+    void baselinesExistingSchema() {
+        List<String> versions = jdbc.queryForList(
+                "SELECT \"version\" FROM \"flyway_schema_history\" WHERE \"version\" IS NOT NULL ORDER BY \"installed_rank\"", String.class);
+        assertEquals(List.of("1", "2", "3", "4", "5", "6", "7", "8", "9"), versions);
+        assertEquals("BASELINE", jdbc.queryForObject(
+                "SELECT \"type\" FROM \"flyway_schema_history\" WHERE \"version\" = '1'", String.class));
+        assertEquals(0L, jdbc.queryForObject("SELECT version FROM tasks WHERE title = 'Старая задача'", Long.class));
+    }
+}
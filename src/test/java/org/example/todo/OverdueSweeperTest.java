@@ -0,0 +1,139 @@
+package org.example.todo;
+
+import org.example.todo.model.TaskChanges;
+import org.example.todo.model.TaskView;
+import org.example.todo.repository.TaskRepository;
+import org.example.todo.service.OverdueSweeper;
+import org.example.todo.service.TaskSyncService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = {
+        "todo.overdue.chunk-size=7",
+        "todo.sync.commit-lag=100ms"
+})
+@RecordApplicationEvents
+class OverdueSweeperTest {
+
+    @Autowired OverdueSweeper sweeper;
+    @Autowired JdbcTemplate jdbc;
+    @Autowired ConfigurableApplicationContext context;
+    @Autowired ApplicationEvents events;
+    @Autowired TaskRepository repo;
+    @Autowired PlatformTransactionManager txManager;
+    @Autowired TaskSyncService sync;
+
+    private final Timestamp old = Timestamp.valueOf(LocalDateTime.now().minusDays(3));
+
+    @BeforeEach
+    void seed() {
+        jdbc.update("delete from tasks");
+        LocalDate today = LocalDate.now();
+        jdbc.batchUpdate(
+                "insert into tasks (title, deadline, status, priority, created_at, updated_at) values (?, ?, ?, ?, ?, ?)",
+                IntStream.range(0, 60).mapToObj(i -> new Object[]{
+                        "Task " + i,
+                        Date.valueOf(i % 2 == 0 ? today.minusDays(1 + i % 5) : today.plusDays(i % 3)),
+                        i % 6 == 0 ? "Completed" : "Active",
+                        "Medium", old, old
+                }).toList());
+    }
+
+    @Test
+    @DisplayName("Переводит просроченные активные задачи в Overdue пачками и сообщает количество")
+    void marksOverdueInChunks() {
+        OverdueSweeper.SweepResult result = sweeper.sweep();
+
+        assertEquals(20, result.changed());
+        assertEquals(20, jdbc.queryForObject("select count(*) from tasks where status = 'Overdue'", Integer.class));
+        assertEquals(0, jdbc.queryForObject(
+                "select count(*) from tasks where status = 'Active' and deadline < current_date", Integer.class));
+        assertEquals(20, jdbc.queryForObject(
+                "select count(*) from tasks where updated_at > created_at", Integer.class));
+        assertEquals(0, sweeper.sweep().changed());
+    }
+
+    @Test
+    @DisplayName("Запуск по ApplicationReadyEvent помечает задачи и не публикует результат как событие")
+    void readyEventSweepsWithoutRepublishing() {
+        context.publishEvent(new ApplicationReadyEvent(new SpringApplication(), new String[0], context, Duration.ZERO));
+
+        assertEquals(20, jdbc.queryForObject("select count(*) from tasks where status = 'Overdue'", Integer.class));
+        assertEquals(0, events.stream(OverdueSweeper.SweepResult.class).count());
+    }
+
+    @Test
+    @DisplayName("Медленный обход пачками: /changes всё равно отдаёт каждую просроченную задачу")
+    void slowSweepIsFullySynced() throws Exception {
+        // 60 ms between id ranges, so the whole sweep takes several commit lags. The rows inserted above
+        // take ids from the pooled sequence, so a range of 350 ids holds about seven of them.
+        TransactionTemplate slow = new TransactionTemplate(txManager) {
+            @Override
+            public <T> T execute(TransactionCallback<T> action) throws TransactionException {
+                T result = super.execute(action);
+                sleep(60);
+                return result;
+            }
+        };
+        OverdueSweeper slowSweeper = new OverdueSweeper(repo, slow, context, 350);
+        List<Long> expected = jdbc.queryForList(
+                "select id from tasks where status = 'Active' and deadline < current_date", Long.class);
+
+        String token = sync.changesSince(null).token();
+        CompletableFuture<OverdueSweeper.SweepResult> sweep = CompletableFuture.supplyAsync(slowSweeper::sweep);
+        Set<Long> synced = new HashSet<>();
+        while (!sweep.isDone()) {
+            token = poll(token, synced);
+            sleep(20);
+        }
+        assertEquals(20, sweep.get().changed());
+        sleep(150);
+        poll(token, synced);
+
+        assertEquals(new HashSet<>(expected), synced);
+    }
+
+    private String poll(String token, Set<Long> synced) {
+        TaskChanges changes;
+        do {
+            changes = sync.changesSince(token);
+            changes.updated().stream().map(TaskView::id).forEach(synced::add);
+            token = changes.token();
+        } while (changes.hasMore());
+        return token;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
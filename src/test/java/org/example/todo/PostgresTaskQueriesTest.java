@@ -0,0 +1,78 @@
+package org.example.todo;
+
+import org.example.todo.model.TaskEntity;
+import org.example.todo.model.TaskStatus;
+import org.example.todo.repository.TaskRepository;
+import org.example.todo.repository.TaskTombstoneRepository;
+import org.example.todo.service.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The PostgreSQL statements in TaskQueriesImpl (UPDATE ... FROM ... RETURNING, DELETE ... RETURNING) never
+// run on H2; this runs them against a real server. Skipped where Docker is not available.
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+class PostgresTaskQueriesTest {
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired TaskService svc;
+    @Autowired TaskRepository repo;
+    @Autowired TaskTombstoneRepository tombstones;
+    @Autowired JdbcTemplate jdbc;
+
+    private long late;
+
+    @BeforeEach
+    void seed() {
+        repo.deleteAllInBatch();
+        jdbc.update("insert into tasks (title, deadline, status, priority, created_at, updated_at) "
+                        + "values ('Late task', ?, 'Overdue', 'High', current_timestamp, current_timestamp)",
+                Date.valueOf(LocalDate.now().minusDays(1)));
+        late = jdbc.queryForObject("select id from tasks where title = 'Late task'", Long.class);
+    }
+
+    @Test
+    @DisplayName("PostgreSQL: complete и uncomplete возвращают прежнюю строку и пишут новый статус")
+    void completeReturnsPreviousRow() {
+        TaskEntity done = svc.markCompleted(late, true);
+
+        assertEquals(TaskStatus.Late, done.getStatus());
+        assertEquals("Late task", done.getTitle());
+        assertEquals(1, done.getVersion());
+        TaskEntity stored = repo.findById(late).orElseThrow();
+        assertEquals(TaskStatus.Late, stored.getStatus());
+        assertEquals(done.getUpdatedAt(), stored.getUpdatedAt());
+
+        assertEquals(TaskStatus.Overdue, svc.markCompleted(late, false, 1L).getStatus());
+        assertThrows(ResponseStatusException.class, () -> svc.markCompleted(late, true, 1L));
+        assertThrows(NoSuchElementException.class, () -> svc.markCompleted(987_654_321L, true));
+    }
+
+    @Test
+    @DisplayName("PostgreSQL: delete возвращает удалённую строку и оставляет tombstone")
+    void deleteReturnsRemovedRow() {
+        svc.delete(late);
+
+        assertFalse(repo.existsById(late));
+        assertTrue(tombstones.existsById(late));
+        assertThrows(NoSuchElementException.class, () -> svc.delete(late));
+    }
+}
@@ -0,0 +1,77 @@
+package org.example.todo;
+
+import org.example.todo.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Tag("benchmark")
+@SpringBootTest
+@AutoConfigureMockMvc
+class TaskBatchBenchmarkTest {
+
+    private static final int ROWS = 5_000;
+    private static final int BATCH = 500;
+
+    @Autowired MockMvc mvc;
+    @Autowired TaskRepository repo;
+
+    @BeforeEach
+    void clean() {
+        repo.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Строк в секунду: POST /api/tasks против POST /api/tasks/batch")
+    void rowsPerSecond() throws Exception {
+        insertSingle(500);
+        insertBatches(500);
+        repo.deleteAllInBatch();
+
+        long start = System.nanoTime();
+        insertSingle(ROWS);
+        double single = ROWS / ((System.nanoTime() - start) / 1e9);
+
+        start = System.nanoTime();
+        insertBatches(ROWS);
+        double batched = ROWS / ((System.nanoTime() - start) / 1e9);
+
+        assertEquals(2L * ROWS, repo.count());
+        System.out.printf("%-22s %12s%n", "endpoint", "rows/s");
+        System.out.printf("%-22s %12.0f%n", "POST /api/tasks", single);
+        System.out.printf("%-22s %12.0f%n", "POST /api/tasks/batch", batched);
+
+        assertTrue(batched > single, "batch endpoint should insert more rows per second");
+    }
+
+    private void insertSingle(int rows) throws Exception {
+        for (int i = 0; i < rows; i++) {
+            mvc.perform(post("/api/tasks").contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"title\": \"Imported task " + i + " !3\"}"))
+                    .andExpect(status().isCreated());
+        }
+    }
+
+    private void insertBatches(int rows) throws Exception {
+        for (int from = 0; from < rows; from += BATCH) {
+            StringBuilder body = new StringBuilder("[");
+            for (int i = from; i < Math.min(from + BATCH, rows); i++) {
+                body.append(i == from ? "" : ",").append("{\"title\": \"Imported task ").append(i).append(" !3\"}");
+            }
+            mvc.perform(post("/api/tasks/batch").contentType(MediaType.APPLICATION_JSON)
+                            .content(body.append("]").toString()))
+                    .andExpect(status().isOk());
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package org.example.todo;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.todo.model.TaskBatchResult;
+import org.example.todo.model.TaskEntity;
+import org.example.todo.model.TaskPriority;
+import org.example.todo.repository.TaskRepository;
+import org.example.todo.service.TaskService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "todo.tasks.batch.max-size=200"
+})
+@AutoConfigureMockMvc
+class TaskBatchTest {
+
+    @Autowired MockMvc mvc;
+    @Autowired TaskService svc;
+    @Autowired TaskRepository repo;
+    @Autowired EntityManagerFactory emf;
+
+    @BeforeEach
+    void clean() {
+        repo.deleteAllInBatch();
+    }
+
+    private static TaskEntity task(String title) {
+        TaskEntity t = new TaskEntity();
+        t.setTitle(title);
+        return t;
+    }
+
+    @Test
+    @DisplayName("Пакетное создание возвращает результат по каждому элементу")
+    void perItemResults() throws Exception {
+        String body = """
+                [{"title": "Valid one !1"},
+                 {"title": "ab"},
+                 {"title": "!2 ab"},
+                 {"title": "Second valid !before 01.01.2999"}]""";
+
+        mvc.perform(post("/api/tasks/batch").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(4))
+                .andExpect(jsonPath("$[0].status").value(201))
+                .andExpect(jsonPath("$[0].task.title").value("Valid one"))
+                .andExpect(jsonPath("$[0].task.priority").value("Critical"))
+                .andExpect(jsonPath("$[1].status").value(400))
+                .andExpect(jsonPath("$[1].error").exists())
+                .andExpect(jsonPath("$[2].status").value(400))
+                .andExpect(jsonPath("$[2].error").value("Title must be at least 4 characters long"))
+                .andExpect(jsonPath("$[3].index").value(3))
+                .andExpect(jsonPath("$[3].task.deadline").value("2999-01-01"));
+
+        assertEquals(2, repo.count());
+    }
+
+    @Test
+    @DisplayName("Вставки уходят пачками JDBC, а id выдаются блоками последовательности")
+    void insertsAreBatched() {
+        List<TaskEntity> items = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            TaskEntity t = task("Imported task " + i);
+            t.setPriority(TaskPriority.Low);
+            t.setDeadline(LocalDate.now().plusDays(i % 10));
+            items.add(t);
+        }
+        Statistics stats = emf.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+
+        List<TaskBatchResult> results = svc.createAll(items);
+
+        assertEquals(120, results.stream().filter(r -> r.status() == 201).count());
+        assertEquals(120, results.stream().map(r -> r.task().id()).distinct().count());
+        assertEquals(120, stats.getEntityInsertCount());
+        assertTrue(stats.getPrepareStatementCount() < 10,
+                "expected a handful of batched statements, got " + stats.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Слишком большой пакет отклоняется целиком")
+    void rejectsOversizedBatch() throws Exception {
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < 201; i++) {
+            body.append(i == 0 ? "" : ",").append("{\"title\": \"Task ").append(i).append("\"}");
+        }
+        mvc.perform(post("/api/tasks/batch").contentType(MediaType.APPLICATION_JSON).content(body.append("]").toString()))
+                .andExpect(status().isBadRequest());
+        assertEquals(0, repo.count());
+    }
+}
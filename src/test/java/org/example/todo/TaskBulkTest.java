@@ -0,0 +1,118 @@
+package org.example.todo;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.todo.model.TaskBulkResult;
+import org.example.todo.model.TaskStatus;
+import org.example.todo.model.TaskView;
+import org.example.todo.repository.TaskRepository;
+import org.example.todo.repository.TaskTombstoneRepository;
+import org.example.todo.service.TaskChangedEvent;
+import org.example.todo.service.TaskService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@RecordApplicationEvents
+class TaskBulkTest {
+
+    @Autowired MockMvc mvc;
+    @Autowired TaskService svc;
+    @Autowired TaskRepository repo;
+    @Autowired TaskTombstoneRepository tombstones;
+    @Autowired JdbcTemplate jdbc;
+    @Autowired EntityManagerFactory emf;
+    @Autowired ApplicationEvents events;
+
+    private long past, future, none;
+    private final long missing = 987_654_321L;
+
+    @BeforeEach
+    void seed() {
+        repo.deleteAllInBatch();
+        past = insert("Past deadline", LocalDate.now().minusDays(2));
+        future = insert("Future deadline", LocalDate.now().plusDays(2));
+        none = insert("No deadline", null);
+    }
+
+    private long insert(String title, LocalDate deadline) {
+        jdbc.update("insert into tasks (title, deadline, status, priority, created_at, updated_at) "
+                        + "values (?, ?, 'Active', 'Medium', current_timestamp, current_timestamp)",
+                title, deadline == null ? null : Date.valueOf(deadline));
+        return jdbc.queryForObject("select id from tasks where title = ?", Long.class, title);
+    }
+
+    private static List<TaskView> sorted(List<TaskView> views) {
+        return views.stream().sorted(Comparator.comparing(TaskView::id)).toList();
+    }
+
+    private TaskStatus statusOf(long id) {
+        return repo.findById(id).orElseThrow().getStatus();
+    }
+
+    @Test
+    @DisplayName("Массовое завершение одним UPDATE учитывает дедлайн и сообщает о ненайденных id")
+    void completeAndUncomplete() {
+        Statistics stats = emf.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+
+        TaskBulkResult done = svc.markCompletedAll(List.of(past, future, none, missing, past), true);
+
+        assertEquals(List.of(past, future, none), done.affected());
+        assertEquals(List.of(missing), done.missing());
+        assertEquals(2, stats.getPrepareStatementCount());
+        assertEquals(TaskStatus.Late, statusOf(past));
+        assertEquals(TaskStatus.Completed, statusOf(future));
+        assertEquals(TaskStatus.Completed, statusOf(none));
+        // The published rows are derived, not read back, and must match what was written.
+        assertEquals(sorted(repo.findViewsByIdIn(List.of(past, future, none))),
+                sorted(events.stream(TaskChangedEvent.class).map(TaskChangedEvent::after).toList()));
+
+        svc.markCompletedAll(List.of(past, future, none), false);
+        assertEquals(TaskStatus.Overdue, statusOf(past));
+        assertEquals(TaskStatus.Active, statusOf(future));
+        assertEquals(TaskStatus.Active, statusOf(none));
+    }
+
+    @Test
+    @DisplayName("HTTP: массовое завершение и удаление возвращают затронутые и отсутствующие id")
+    void endpoints() throws Exception {
+        mvc.perform(patch("/api/tasks/bulk/complete").contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + future + "," + missing + "]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected[0]").value(future))
+                .andExpect(jsonPath("$.missing[0]").value(missing));
+
+        mvc.perform(post("/api/tasks/bulk/delete").contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + past + "," + none + "," + missing + "]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected.length()").value(2))
+                .andExpect(jsonPath("$.missing[0]").value(missing));
+
+        assertEquals(List.of(future), repo.findAll().stream().map(t -> t.getId()).toList());
+        assertTrue(tombstones.existsById(past));
+        assertTrue(tombstones.existsById(none));
+    }
+}
@@ -0,0 +1,90 @@
+package org.example.todo;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.todo.model.TaskEntity;
+import org.example.todo.model.TaskPriority;
+import org.example.todo.model.TaskStatus;
+import org.example.todo.model.TaskView;
+import org.example.todo.service.TaskCache;
+import org.example.todo.service.TaskCacheProperties;
+import org.example.todo.service.TaskChangedEvent;
+import org.example.todo.service.TaskService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class TaskCacheTest {
+
+    @Autowired TaskService svc;
+    @Autowired TaskCache cache;
+    @Autowired MeterRegistry registry;
+
+    private static TaskView task(long id, String title) {
+        return new TaskView(id, title, null, null, TaskStatus.Active, null, null, null, 0);
+    }
+
+    @Test
+    @DisplayName("Инвалидация во время загрузки не оставляет в кэше устаревшее значение")
+    void invalidationDuringLoadDropsStaleValue() throws Exception {
+        TaskCache local = new TaskCache(new TaskCacheProperties(10, Duration.ofMinutes(1)), new SimpleMeterRegistry());
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<TaskView> reader = CompletableFuture.supplyAsync(() -> local.get(1L, id -> {
+            loading.countDown();
+            await(release);
+            return task(id, "stale");
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> local.onTaskChanged(TaskChangedEvent.deleted(1L, null)));
+        Thread.sleep(100);
+        assertFalse(writer.isDone());
+        release.countDown();
+
+        assertEquals("stale", reader.get(5, TimeUnit.SECONDS).title());
+        writer.get(5, TimeUnit.SECONDS);
+        assertEquals("fresh", local.get(1L, id -> task(id, "fresh")).title());
+    }
+
+    @Test
+    @DisplayName("Изменения через TaskService сбрасывают кэш, повторное чтение попадает в кэш")
+    void serviceWritesInvalidate() {
+        TaskEntity in = new TaskEntity();
+        in.setTitle("Cached task");
+        in.setPriority(TaskPriority.Low);
+        Long id = svc.create(in).getId();
+
+        long hits = cache.stats().hitCount();
+        svc.getById(id);
+        svc.getById(id);
+        assertEquals(hits + 1, cache.stats().hitCount());
+
+        TaskEntity change = new TaskEntity();
+        change.setTitle("Renamed task");
+        svc.update(id, change);
+        assertEquals("Renamed task", svc.getById(id).title());
+
+        svc.delete(id);
+        assertThrows(RuntimeException.class, () -> svc.getById(id));
+
+        assertNotNull(registry.find("cache.gets").tag("cache", "tasks").tag("result", "hit").functionCounter());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
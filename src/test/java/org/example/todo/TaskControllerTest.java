@@ -2,8 +2,11 @@ package org.example.todo;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.example.todo.model.TaskEntity;
+import org.example.todo.model.TaskFilter;
+import org.example.todo.model.TaskPage;
 import org.example.todo.model.TaskPriority;
 import org.example.todo.model.TaskStatus;
+import org.example.todo.model.TaskView;
 import org.example.todo.service.TaskService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -24,11 +27,13 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Set;
 import java.util.stream.Stream;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -59,8 +64,8 @@ class TaskControllerTest {
     class ListTasks {
         @Test @DisplayName("200 и список задач")
         void okList() throws Exception {
-            given(taskService.getAllSorted(anyString()))
-                    .willReturn(Arrays.asList(sample(), sample()));
+            given(taskService.getList(anyString(), any(TaskFilter.class), any(), any()))
+                    .willReturn(new TaskPage<>(Arrays.asList(TaskView.from(sample()), TaskView.from(sample())), null));
 
             mockMvc.perform(get("/api/tasks").param("sort", "title"))
                     .andExpect(status().isOk())
@@ -68,9 +73,73 @@ class TaskControllerTest {
                     .andExpect(jsonPath("$[0].title").value("Test Task"));
         }
 
+        @Test @DisplayName("Следующая страница передаётся в заголовке Link с сохранением фильтров")
+        void nextPageLink() throws Exception {
+            given(taskService.getList(anyString(), any(TaskFilter.class), any(), any()))
+                    .willReturn(new TaskPage<>(Collections.singletonList(TaskView.from(sample())), "abc"));
+
+            mockMvc.perform(get("/api/tasks?status=Active&cursor=old"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Link", "</api/tasks?status=Active&cursor=abc>; rel=\"next\""));
+        }
+
+        @Test @DisplayName("Ссылка на следующую страницу не содержит хост, под которым запрос видит сервер")
+        void nextPageLinkIsRelative() throws Exception {
+            given(taskService.getList(anyString(), any(TaskFilter.class), any(), any()))
+                    .willReturn(new TaskPage<>(Collections.singletonList(TaskView.from(sample())), "abc"));
+
+            mockMvc.perform(get("http://backend:8080/api/tasks?limit=1")
+                            .header("X-Forwarded-Proto", "https").header("X-Forwarded-Host", "todo.example.com"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Link", "</api/tasks?limit=1&cursor=abc>; rel=\"next\""));
+        }
+
+        @Test @DisplayName("304 по If-None-Match без запроса к сервису")
+        void notModified() throws Exception {
+            given(taskService.getList(anyString(), any(TaskFilter.class), any(), any()))
+                    .willReturn(new TaskPage<>(Collections.singletonList(TaskView.from(sample())), null));
+
+            String etag = mockMvc.perform(get("/api/tasks"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().exists("ETag"))
+                    .andExpect(header().exists("Last-Modified"))
+                    .andReturn().getResponse().getHeader("ETag");
+            Mockito.clearInvocations(taskService);
+
+            mockMvc.perform(get("/api/tasks").header("If-None-Match", etag))
+                    .andExpect(status().isNotModified())
+                    .andExpect(content().string(""));
+            Mockito.verify(taskService, never()).getList(anyString(), any(TaskFilter.class), any(), any());
+        }
+
+        @Test @DisplayName("Фильтры из query-параметров передаются в сервис вместе с sort")
+        void filtersPassedToService() throws Exception {
+            TaskFilter expected = new TaskFilter(
+                    Set.of(TaskStatus.Active, TaskStatus.Overdue),
+                    Set.of(TaskPriority.High),
+                    LocalDate.of(2030, 1, 1), LocalDate.of(2030, 2, 1));
+            given(taskService.getList("deadline", expected, null, null))
+                    .willReturn(new TaskPage<>(Collections.singletonList(TaskView.from(sample())), null));
+
+            mockMvc.perform(get("/api/tasks")
+                            .param("sort", "deadline")
+                            .param("status", "Active", "Overdue")
+                            .param("priority", "High")
+                            .param("deadlineFrom", "2030-01-01")
+                            .param("deadlineTo", "2030-02-01"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(1));
+        }
+
+        @Test @DisplayName("400 при неизвестном статусе в фильтре")
+        void wrongStatusFilter() throws Exception {
+            mockMvc.perform(get("/api/tasks").param("status", "Sleeping"))
+                    .andExpect(status().isBadRequest());
+        }
+
         @Test @DisplayName("400 при неверном sort")
         void wrongSort() throws Exception {
-            given(taskService.getAllSorted(eq("wrong")))
+            given(taskService.getList(eq("wrong"), any(TaskFilter.class), any(), any()))
                     .willThrow(new IllegalArgumentException("Invalid sort"));
 
             mockMvc.perform(get("/api/tasks").param("sort", "wrong"))
@@ -83,7 +152,7 @@ class TaskControllerTest {
     class GetById {
         @Test @DisplayName("200 и задача по ID")
         void okGet() throws Exception {
-            given(taskService.getById(1L)).willReturn(sample());
+            given(taskService.getById(1L)).willReturn(TaskView.from(sample()));
 
             mockMvc.perform(get("/api/tasks/1"))
                     .andExpect(status().isOk())
@@ -91,6 +160,27 @@ class TaskControllerTest {
                     .andExpect(jsonPath("$.deadline").exists());
         }
 
+        @Test @DisplayName("304 если задача не менялась, 200 после изменения")
+        void conditionalGet() throws Exception {
+            TaskEntity t = sample();
+            given(taskService.getById(1L)).willReturn(TaskView.from(t));
+
+            String etag = mockMvc.perform(get("/api/tasks/1"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().exists("Last-Modified"))
+                    .andReturn().getResponse().getHeader("ETag");
+
+            mockMvc.perform(get("/api/tasks/1").header("If-None-Match", etag))
+                    .andExpect(status().isNotModified());
+
+            t.setUpdatedAt(t.getUpdatedAt().plusNanos(1000));
+            t.setVersion(t.getVersion() + 1);
+            given(taskService.getById(1L)).willReturn(TaskView.from(t));
+            mockMvc.perform(get("/api/tasks/1").header("If-None-Match", etag))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.id").value(1));
+        }
+
         @Test @DisplayName("404 если нет")
         void notFound() throws Exception {
             given(taskService.getById(99L))
@@ -180,7 +270,7 @@ class TaskControllerTest {
         void okUpdate() throws Exception {
             TaskEntity in = sample();
             in.setTitle("Updated");
-            given(taskService.update(eq(1L), any(TaskEntity.class)))
+            given(taskService.update(eq(1L), any(TaskEntity.class), isNull()))
                     .willReturn(in);
 
             mockMvc.perform(put("/api/tasks/1")
@@ -194,7 +284,7 @@ class TaskControllerTest {
         void badUpdate() throws Exception {
             TaskEntity in = sample();
             in.setTitle("Updated");
-            given(taskService.update(eq(1L), any()))
+            given(taskService.update(eq(1L), any(), any()))
                     .willThrow(new RuntimeException("Update failed"));
 
             mockMvc.perform(put("/api/tasks/1")
@@ -231,7 +321,7 @@ class TaskControllerTest {
         void okComplete() throws Exception {
             TaskEntity done = sample();
             done.setStatus(TaskStatus.Completed);
-            given(taskService.markCompleted(1L, true)).willReturn(done);
+            given(taskService.markCompleted(1L, true, null)).willReturn(done);
 
             mockMvc.perform(patch("/api/tasks/1/complete"))
                     .andExpect(status().isOk())
@@ -242,7 +332,7 @@ class TaskControllerTest {
         void okUncomplete() throws Exception {
             TaskEntity undone = sample();
             undone.setStatus(TaskStatus.Active);
-            given(taskService.markCompleted(1L, false)).willReturn(undone);
+            given(taskService.markCompleted(1L, false, null)).willReturn(undone);
 
             mockMvc.perform(patch("/api/tasks/1/uncomplete"))
                     .andExpect(status().isOk())
@@ -251,7 +341,7 @@ class TaskControllerTest {
 
         @Test @DisplayName("400 при ошибке patch")
         void badPatch() throws Exception {
-            given(taskService.markCompleted(1L, true))
+            given(taskService.markCompleted(1L, true, null))
                     .willThrow(new RuntimeException("Patch error"));
 
             mockMvc.perform(patch("/api/tasks/1/complete"))
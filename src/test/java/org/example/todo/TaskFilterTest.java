@@ -0,0 +1,116 @@
+package org.example.todo;
+
+import org.example.todo.model.TaskEntity;
+import org.example.todo.model.TaskFilter;
+import org.example.todo.model.TaskPage;
+import org.example.todo.model.TaskPriority;
+import org.example.todo.model.TaskStatus;
+import org.example.todo.model.TaskView;
+import org.example.todo.repository.TaskRepository;
+import org.example.todo.service.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class TaskFilterTest {
+
+    private static final LocalDate BASE = LocalDate.of(2030, 1, 1);
+
+    @Autowired TaskRepository repo;
+    @Autowired TaskService svc;
+
+    private List<TaskEntity> all;
+
+    @BeforeEach
+    void seed() {
+        repo.deleteAll();
+        List<TaskEntity> tasks = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            TaskEntity t = new TaskEntity();
+            t.setTitle("Task " + i);
+            t.setStatus(TaskStatus.values()[i % 4]);
+            t.setPriority(TaskPriority.values()[i % 3]);
+            t.setDeadline(i % 7 == 0 ? null : BASE.plusDays(i % 10));
+            tasks.add(t);
+        }
+        all = repo.saveAll(tasks);
+    }
+
+    @Test
+    @DisplayName("Фильтр по статусу, приоритету и диапазону дедлайна совпадает с фильтрацией в памяти")
+    void filtersInDatabase() {
+        TaskFilter filter = new TaskFilter(
+                Set.of(TaskStatus.Active, TaskStatus.Overdue), Set.of(TaskPriority.Critical),
+                BASE.plusDays(2), BASE.plusDays(8));
+
+        List<Long> actual = svc.getList("deadline", filter, null, 500).items().stream().map(TaskView::id).toList();
+
+        List<Long> expected = expected(filter);
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    @DisplayName("Постраничный обход по курсору отдаёт тот же отфильтрованный список")
+    void pagesThroughFilteredList() {
+        TaskFilter filter = new TaskFilter(
+                Set.of(TaskStatus.Active, TaskStatus.Overdue), Set.of(TaskPriority.Critical),
+                BASE.plusDays(2), BASE.plusDays(8));
+
+        List<Long> actual = new ArrayList<>();
+        String cursor = null;
+        do {
+            TaskPage<TaskView> page = svc.getList("deadline", filter, cursor, 2);
+            assertTrue(page.items().size() <= 2);
+            page.items().stream().map(TaskView::id).forEach(actual::add);
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertTrue(actual.size() > 2);
+        assertEquals(expected(filter), actual);
+    }
+
+    private List<Long> expected(TaskFilter filter) {
+        return all.stream()
+                .filter(t -> filter.statuses().contains(t.getStatus()))
+                .filter(t -> filter.priorities().contains(t.getPriority()))
+                .filter(t -> t.getDeadline() != null
+                        && !t.getDeadline().isBefore(filter.deadlineFrom())
+                        && !t.getDeadline().isAfter(filter.deadlineTo()))
+                .sorted(Comparator.comparing(TaskEntity::getDeadline).thenComparing(TaskEntity::getId))
+                .map(TaskEntity::getId)
+                .toList();
+    }
+
+    @Test
+    @DisplayName("Фильтр сочетается с sort=created")
+    void combinesWithCreatedSort() {
+        TaskFilter filter = new TaskFilter(Set.of(TaskStatus.Completed), Set.of(), null, null);
+
+        List<TaskView> actual = svc.getList("created", filter, null, 500).items();
+
+        assertEquals(10, actual.size());
+        assertTrue(actual.stream().allMatch(v -> v.status() == TaskStatus.Completed));
+        List<Long> ids = actual.stream().map(TaskView::id).toList();
+        assertEquals(ids.stream().sorted(Comparator.reverseOrder()).toList(), ids);
+    }
+
+    @Test
+    @DisplayName("400 если deadlineFrom позже deadlineTo")
+    void rejectsInvertedRange() {
+        TaskFilter filter = new TaskFilter(Set.of(), Set.of(), BASE.plusDays(5), BASE);
+        assertThrows(ResponseStatusException.class, () -> svc.getList("", filter, null, null));
+    }
+}
@@ -0,0 +1,51 @@
+package org.example.todo;
+
+import org.example.todo.model.TaskChanges;
+import org.example.todo.model.TaskEntity;
+import org.example.todo.model.TaskIngestStatus;
+import org.example.todo.model.TaskView;
+import org.example.todo.service.TaskIngestService;
+import org.example.todo.service.TaskSyncService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Linger longer than the commit lag: a client polling while the task waits in the queue must still see it.
+@SpringBootTest(properties = {
+        "todo.tasks.ingest.enabled=true",
+        "todo.tasks.ingest.linger=1s",
+        "todo.sync.commit-lag=100ms"
+})
+class TaskIngestSyncTest {
+
+    @Autowired TaskIngestService ingest;
+    @Autowired TaskSyncService sync;
+
+    @Test
+    @DisplayName("Задача, дольше commit-lag ждавшая в очереди, всё равно попадает в /changes")
+    void queuedLongerThanCommitLagStillSynced() throws Exception {
+        String token = sync.changesSince(null).token();
+        TaskEntity in = new TaskEntity();
+        in.setTitle("Задача из очереди");
+        long id = ingest.submit(in).id();
+
+        Thread.sleep(300);
+        TaskChanges whileQueued = sync.changesSince(token);
+        assertTrue(whileQueued.updated().stream().noneMatch(v -> v.id() == id));
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (ingest.status(id).state() != TaskIngestStatus.State.STORED) {
+            assertTrue(System.nanoTime() < deadline, "task " + id + " was not stored");
+            Thread.sleep(10);
+        }
+        Thread.sleep(150);
+        TaskChanges afterCommit = sync.changesSince(whileQueued.token());
+        assertTrue(afterCommit.updated().stream().map(TaskView::id).anyMatch(v -> v == id),
+                "ingested task missing from /changes");
+    }
+}
@@ -0,0 +1,205 @@
+package org.example.todo;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.todo.model.TaskEntity;
+import org.example.todo.model.TaskIngestStatus;
+import org.example.todo.model.TaskPriority;
+import org.example.todo.model.TaskStatus;
+import org.example.todo.repository.TaskIdAllocator;
+import org.example.todo.repository.TaskRepository;
+import org.example.todo.service.TaskIngestProperties;
+import org.example.todo.service.TaskIngestService;
+import org.example.todo.service.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.Matchers.endsWith;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "todo.tasks.ingest.enabled=true",
+        "todo.tasks.ingest.linger=50ms"
+})
+@AutoConfigureMockMvc
+class TaskIngestTest {
+
+    @Autowired MockMvc mvc;
+    @Autowired ObjectMapper mapper;
+    @Autowired TaskRepository repo;
+    @Autowired TaskService svc;
+    @Autowired TaskIngestService ingest;
+    @Autowired MeterRegistry registry;
+
+    @BeforeEach
+    void clean() {
+        repo.deleteAllInBatch();
+    }
+
+    private MvcResult submit(String title) throws Exception {
+        return mvc.perform(post("/api/tasks/ingest").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"" + title + "\"}"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.state").value("QUEUED"))
+                .andReturn();
+    }
+
+    private void awaitStored(long id) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (ingest.status(id).state() != TaskIngestStatus.State.STORED) {
+            assertTrue(System.nanoTime() < deadline, "task " + id + " was not stored");
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    @DisplayName("Принятая задача получает 202, адрес статуса и сохраняется с применёнными макросами")
+    void acceptedThenStored() throws Exception {
+        MvcResult accepted = submit("Фоновая задача !2 !before 31.12.2099");
+        long id = mapper.readTree(accepted.getResponse().getContentAsString()).get("id").asLong();
+        assertTrue(accepted.getResponse().getHeader("Location").endsWith("/api/tasks/ingest/" + id));
+
+        awaitStored(id);
+        mvc.perform(get("/api/tasks/ingest/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("STORED"))
+                .andExpect(header().string("Location", endsWith("/api/tasks/" + id)));
+        mvc.perform(get("/api/tasks/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Фоновая задача"))
+                .andExpect(jsonPath("$.priority").value("High"))
+                .andExpect(jsonPath("$.deadline").value("2099-12-31"))
+                .andExpect(jsonPath("$.status").value("Active"));
+    }
+
+    @Test
+    @DisplayName("Заранее выданные идентификаторы не пересекаются с синхронным созданием")
+    void idsDoNotCollideWithJpa() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            ids.add(mapper.readTree(submit("Фоновая " + i).getResponse().getContentAsString()).get("id").asLong());
+            TaskEntity t = new TaskEntity();
+            t.setTitle("Синхронная " + i);
+            svc.create(t);
+        }
+        for (long id : ids) {
+            awaitStored(id);
+        }
+        assertEquals(120, repo.count());
+    }
+
+    @Test
+    @DisplayName("Проверка и макросы выполняются синхронно: ошибка сразу даёт 400")
+    void invalidTitleIsRejectedSynchronously() throws Exception {
+        mvc.perform(post("/api/tasks/ingest").contentType(MediaType.APPLICATION_JSON).content("{\"title\": \"!1 abc\"}"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(get("/api/tasks/ingest/{id}", 123456789L))
+                .andExpect(status().isNotFound());
+        assertEquals(0, ingest.queued());
+    }
+
+    @Test
+    @DisplayName("Всплеск созданий записывается групповыми коммитами")
+    void burstIsGroupCommitted() throws Exception {
+        double before = registry.get("todo.tasks.ingest.batch").summary().count();
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            ids.add(mapper.readTree(submit("Пакетная задача " + i).getResponse().getContentAsString()).get("id").asLong());
+        }
+        for (long id : ids) {
+            awaitStored(id);
+        }
+        assertEquals(200, repo.count());
+        double batches = registry.get("todo.tasks.ingest.batch").summary().count() - before;
+        assertTrue(batches < 200, "expected fewer commits than tasks, got " + batches);
+    }
+
+    // The writer below blocks inside its first insert, so everything submitted after it stays queued.
+    private static TaskIngestService blockedService(int capacity, CountDownLatch release, List<Integer> batchSizes) {
+        TaskIdAllocator ids = Mockito.mock(TaskIdAllocator.class);
+        AtomicLong next = new AtomicLong(1);
+        Mockito.when(ids.next()).thenAnswer(inv -> next.getAndIncrement());
+        JdbcTemplate jdbc = Mockito.mock(JdbcTemplate.class);
+        Mockito.when(jdbc.batchUpdate(anyString(), any(Collection.class), anyInt(), any())).thenAnswer(inv -> {
+            batchSizes.add(inv.<Collection<?>>getArgument(1).size());
+            release.await();
+            return new int[0][];
+        });
+        return new TaskIngestService(Mockito.mock(TaskService.class), ids, jdbc,
+                new TransactionTemplate(Mockito.mock(PlatformTransactionManager.class)), event -> { },
+                new TaskIngestProperties(true, capacity, 500, Duration.ofMillis(10), Duration.ofSeconds(10), Duration.ofMinutes(1)),
+                new SimpleMeterRegistry());
+    }
+
+    private static TaskEntity task(int i) {
+        TaskEntity t = new TaskEntity();
+        t.setTitle("Задача " + i);
+        t.setStatus(TaskStatus.Active);
+        t.setPriority(TaskPriority.Medium);
+        return t;
+    }
+
+    @Test
+    @DisplayName("Полная очередь отказывает, остановка дописывает очередь и закрывает приём")
+    void backpressureAndDrain() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        TaskIngestService service = blockedService(3, release, batchSizes);
+        service.start();
+
+        assertNotNull(service.submit(task(0)));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (batchSizes.isEmpty()) {
+            assertTrue(System.nanoTime() < deadline, "writer did not pick up the first task");
+            Thread.sleep(5);
+        }
+        List<TaskIngestStatus> queued = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            queued.add(service.submit(task(i)));
+        }
+        assertNull(service.submit(task(4)), "a full queue must refuse the task");
+        assertEquals(3, service.queued());
+
+        release.countDown();
+        service.stop();
+
+        assertEquals(0, service.queued());
+        assertEquals(List.of(1, 3), batchSizes);
+        for (TaskIngestStatus s : queued) {
+            assertEquals(TaskIngestStatus.State.STORED, service.status(s.id()).state());
+        }
+        assertFalse(service.isRunning());
+        ResponseStatusException closed = assertThrows(ResponseStatusException.class, () -> service.submit(task(5)));
+        assertEquals(503, closed.getStatusCode().value());
+    }
+}
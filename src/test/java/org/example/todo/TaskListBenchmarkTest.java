@@ -0,0 +1,95 @@
+package org.example.todo;
+
+import org.example.todo.model.TaskEntity;
+import org.example.todo.model.TaskFilter;
+import org.example.todo.model.TaskSort;
+import org.example.todo.model.TaskView;
+import org.example.todo.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("benchmark")
+@SpringBootTest
+class TaskListBenchmarkTest {
+
+    private static final int ROWS = 10_000;
+    private static final int WARMUP = 10;
+    private static final int ITERATIONS = 30;
+
+    @Autowired TaskRepository repo;
+    @Autowired JdbcTemplate jdbc;
+    @Autowired TransactionTemplate tx;
+
+    @BeforeEach
+    void seed() {
+        repo.deleteAllInBatch();
+        LocalDateTime now = LocalDateTime.now();
+        jdbc.batchUpdate(
+                "insert into tasks (title, description, deadline, status, priority, created_at, updated_at) values (?, ?, ?, ?, ?, ?, ?)",
+                IntStream.range(0, ROWS).mapToObj(i -> new Object[]{
+                        "Benchmark task " + i, "Description " + i,
+                        Date.valueOf(LocalDate.now().plusDays(i % 90)),
+                        "Active", "Medium",
+                        Timestamp.valueOf(now.minusSeconds(i)), Timestamp.valueOf(now)
+                }).toList());
+    }
+
+    @Test
+    @DisplayName("Проекции против управляемых сущностей на списке из 10k строк")
+    void projectionVsManagedEntities() {
+        Result entities = measure(() -> tx.execute(s -> {
+            List<TaskEntity> list = repo.findAll(Sort.by("deadline", "id"));
+            s.flush();
+            return list.size();
+        }));
+        Result views = measure(() -> {
+            List<TaskView> list = repo.findViews(TaskFilter.NONE, TaskSort.DEADLINE, null, null, null, Limit.unlimited());
+            return list.size();
+        });
+
+        System.out.printf("%-22s %12s %14s%n", "path", "avg ms", "avg alloc KB");
+        System.out.printf("%-22s %12.2f %14d%n", "managed TaskEntity", entities.millis, entities.bytes / 1024);
+        System.out.printf("%-22s %12.2f %14d%n", "TaskView projection", views.millis, views.bytes / 1024);
+
+        assertTrue(views.bytes < entities.bytes, "projection path should allocate less");
+    }
+
+    private Result measure(Supplier<Integer> body) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < WARMUP; i++) {
+            assertEquals(ROWS, body.get());
+        }
+        long bytes = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            body.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        bytes = threads.getCurrentThreadAllocatedBytes() - bytes;
+        return new Result(elapsed / 1e6 / ITERATIONS, bytes / ITERATIONS);
+    }
+
+    private record Result(double millis, long bytes) {
+    }
+}
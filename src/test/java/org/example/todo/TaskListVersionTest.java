@@ -0,0 +1,50 @@
+package org.example.todo;
+
+import org.example.todo.model.TaskEntity;
+import org.example.todo.model.TaskPriority;
+import org.example.todo.service.TaskListVersion;
+import org.example.todo.service.TaskService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+@SpringBootTest
+class TaskListVersionTest {
+
+    @Autowired TaskService svc;
+    @Autowired TaskListVersion version;
+    @Autowired TransactionTemplate tx;
+
+    private TaskEntity task(String title) {
+        TaskEntity t = new TaskEntity();
+        t.setTitle(title);
+        t.setPriority(TaskPriority.Medium);
+        return t;
+    }
+
+    @Test
+    @DisplayName("Запись задачи меняет ETag списка в базе")
+    void writeBumpsVersion() {
+        TaskListVersion.Stamp before = version.current();
+        svc.create(task("Версия списка"));
+        TaskListVersion.Stamp after = version.current();
+        assertNotEquals(before.etag(), after.etag());
+        assertEquals(after, version.current());
+    }
+
+    @Test
+    @DisplayName("Откат транзакции откатывает и версию списка")
+    void rollbackKeepsVersion() {
+        TaskListVersion.Stamp before = version.current();
+        tx.executeWithoutResult(s -> {
+            svc.create(task("Откатится"));
+            s.setRollbackOnly();
+        });
+        assertEquals(before, version.current());
+    }
+}
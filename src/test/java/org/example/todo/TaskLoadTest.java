@@ -0,0 +1,239 @@
+package org.example.todo;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.example.todo.repository.TaskRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Open-model load: request i is due at start + i / rate whether or not earlier ones have answered,
+// and its latency is measured from that due time, so a stalled server cannot hide its queueing delay
+// (no coordinated omission). Run with
+//   mvn test -Ploadtest -Dloadtest.rate=300 -Dloadtest.duration=60s -Dloadtest.mix=page:50,get:50
+// TaskLoadVirtualTest repeats the run on virtual threads and compares it with this one.
+@Tag("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class TaskLoadTest {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.SECONDS.toMicros(60);
+    private static final int SEED_BATCH = 1000;
+
+    @LocalServerPort int port;
+    @Autowired TaskRepository repo;
+    @Autowired ObjectMapper mapper;
+
+    @Value("${loadtest.tasks:2000}") int tasks;
+    @Value("${loadtest.rate:200}") int rate;
+    @Value("${loadtest.duration:20s}") Duration duration;
+    @Value("${loadtest.warmup:5s}") Duration warmup;
+    @Value("${loadtest.mix:page:35,get:30,search:10,stats:5,create:10,complete:10}") String mix;
+    @Value("${loadtest.report:target/loadtest-report.json}") File report;
+    @Value("${loadtest.compare-with:}") File baseline;
+    @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads;
+
+    private final HttpClient http = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+    private long[] ids;
+
+    private record Endpoint(String name, int weight, ConcurrentHistogram latency, AtomicLong errors) {
+    }
+
+    @Test
+    @DisplayName("Задержки по эндпоинтам при фиксированной интенсивности запросов")
+    void fixedArrivalRate() throws Exception {
+        seed();
+        List<Endpoint> endpoints = parseMix();
+
+        drive(endpoints, warmup);
+        endpoints.forEach(e -> {
+            e.latency().reset();
+            e.errors().set(0);
+        });
+        long started = System.nanoTime();
+        long sent = drive(endpoints, duration);
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        writeReport(endpoints, sent, seconds);
+        long errors = endpoints.stream().mapToLong(e -> e.errors().get()).sum();
+        long recorded = endpoints.stream().mapToLong(e -> e.latency().getTotalCount()).sum();
+        assertEquals(sent, recorded);
+        assertTrue(errors * 100 < sent, errors + " of " + sent + " requests failed");
+    }
+
+    private void seed() throws Exception {
+        repo.deleteAllInBatch();
+        for (int from = 0; from < tasks; from += SEED_BATCH) {
+            StringBuilder body = new StringBuilder("[");
+            for (int i = from; i < Math.min(tasks, from + SEED_BATCH); i++) {
+                body.append(i == from ? "" : ",")
+                        .append("{\"title\":\"Нагрузочная задача ").append(i)
+                        .append(i % 4 == 0 ? " !before 31.12.2099" : "").append("\"}");
+            }
+            HttpResponse<String> response = http.send(post("/api/tasks/batch", body.append(']').toString()),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, response.statusCode(), response.body());
+        }
+        ids = repo.findAll().stream().mapToLong(t -> t.getId()).toArray();
+    }
+
+    private List<Endpoint> parseMix() {
+        List<Endpoint> endpoints = new ArrayList<>();
+        for (String part : mix.split(",")) {
+            String[] kv = part.trim().split(":");
+            endpoints.add(new Endpoint(kv[0], Integer.parseInt(kv[1]), new ConcurrentHistogram(MAX_LATENCY_MICROS, 3),
+                    new AtomicLong()));
+        }
+        return endpoints;
+    }
+
+    // The dispatcher only sleeps until the next due time and hands the request to a virtual thread,
+    // so the arrival rate never depends on how fast responses come back.
+    private long drive(List<Endpoint> endpoints, Duration length) throws InterruptedException {
+        int totalWeight = endpoints.stream().mapToInt(Endpoint::weight).sum();
+        long interval = TimeUnit.SECONDS.toNanos(1) / rate;
+        long count = length.toNanos() / interval;
+        long start = System.nanoTime();
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; i < count; i++) {
+                long due = start + i * interval;
+                long wait = due - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                Endpoint endpoint = pick(endpoints, totalWeight);
+                workers.execute(() -> call(endpoint, due));
+            }
+        }
+        return count;
+    }
+
+    private static Endpoint pick(List<Endpoint> endpoints, int totalWeight) {
+        int r = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Endpoint e : endpoints) {
+            r -= e.weight();
+            if (r < 0) {
+                return e;
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    private void call(Endpoint endpoint, long due) {
+        try {
+            HttpResponse<Void> response = http.send(request(endpoint.name()), HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() >= 400) {
+                endpoint.errors().incrementAndGet();
+            }
+        } catch (IOException | InterruptedException ex) {
+            endpoint.errors().incrementAndGet();
+        } finally {
+            long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - due);
+            endpoint.latency().recordValue(Math.min(micros, MAX_LATENCY_MICROS));
+        }
+    }
+
+    private HttpRequest request(String endpoint) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long id = ids[random.nextInt(ids.length)];
+        return switch (endpoint) {
+            case "page" -> get("/api/tasks?limit=20&sort=" + (random.nextBoolean() ? "deadline" : "created"));
+            case "get" -> get("/api/tasks/" + id);
+            case "search" -> get("/api/tasks/search?q=" + random.nextInt(tasks));
+            case "stats" -> get("/api/tasks/stats");
+            case "create" -> post("/api/tasks", "{\"title\":\"Новая задача " + random.nextInt() + "\"}");
+            case "complete" -> HttpRequest.newBuilder(uri("/api/tasks/" + id + "/" + (random.nextBoolean() ? "complete" : "uncomplete")))
+                    .method("PATCH", HttpRequest.BodyPublishers.noBody()).build();
+            default -> throw new IllegalArgumentException("Unknown endpoint " + endpoint);
+        };
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(uri(path)).GET().build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private void writeReport(List<Endpoint> endpoints, long sent, double seconds) throws IOException {
+        Map<String, Object> byEndpoint = new LinkedHashMap<>();
+        System.out.printf("%-10s %8s %7s %9s %9s %9s %9s %9s%n", "endpoint", "count", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Endpoint e : endpoints) {
+            Histogram h = e.latency();
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("count", h.getTotalCount());
+            stats.put("errors", e.errors().get());
+            stats.put("meanMs", h.getMean() / 1000);
+            for (double p : new double[]{50, 90, 99, 99.9}) {
+                stats.put("p" + (p == Math.rint(p) ? String.valueOf((int) p) : String.valueOf(p)) + "Ms",
+                        h.getValueAtPercentile(p) / 1000.0);
+            }
+            stats.put("maxMs", h.getMaxValue() / 1000.0);
+            byEndpoint.put(e.name(), stats);
+            System.out.printf("%-10s %8d %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n", e.name(), h.getTotalCount(), e.errors().get(),
+                    h.getValueAtPercentile(50) / 1000.0, h.getValueAtPercentile(90) / 1000.0,
+                    h.getValueAtPercentile(99) / 1000.0, h.getValueAtPercentile(99.9) / 1000.0, h.getMaxValue() / 1000.0);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("threads", virtualThreads ? "virtual" : "platform");
+        result.put("targetRate", rate);
+        result.put("achievedRate", sent / seconds);
+        result.put("durationSeconds", seconds);
+        result.put("tasks", tasks);
+        result.put("mix", mix);
+        result.put("endpoints", byEndpoint);
+        report.getAbsoluteFile().getParentFile().mkdirs();
+        mapper.writerWithDefaultPrettyPrinter().writeValue(report, result);
+        System.out.println("Load test report written to " + report.getAbsolutePath());
+        if (baseline != null && baseline.isFile()) {
+            compare(mapper.readTree(baseline), mapper.valueToTree(result));
+        }
+    }
+
+    private static void compare(JsonNode before, JsonNode now) {
+        System.out.printf("%-10s %18s %18s %18s%n", "endpoint", "p50 ms", "p99 ms", "p99.9 ms");
+        System.out.printf("%-10s %18s %18s %18s%n", "", before.path("threads").asText() + " -> " + now.path("threads").asText(), "", "");
+        now.path("endpoints").fields().forEachRemaining(e -> {
+            JsonNode b = before.path("endpoints").path(e.getKey());
+            System.out.printf("%-10s %8.1f -> %-7.1f %8.1f -> %-7.1f %8.1f -> %-7.1f%n", e.getKey(),
+                    b.path("p50Ms").asDouble(), e.getValue().path("p50Ms").asDouble(),
+                    b.path("p99Ms").asDouble(), e.getValue().path("p99Ms").asDouble(),
+                    b.path("p99.9Ms").asDouble(), e.getValue().path("p99.9Ms").asDouble());
+        });
+    }
+}
@@ -0,0 +1,15 @@
+package org.example.todo;
+
+import org.junit.jupiter.api.Tag;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+// The same load on the "virtual" profile; run after TaskLoadTest it prints both side by side.
+@Tag("loadtest")
+@ActiveProfiles("virtual")
+@TestPropertySource(properties = {
+        "loadtest.report=target/loadtest-report-virtual.json",
+        "loadtest.compare-with=target/loadtest-report.json"
+})
+class TaskLoadVirtualTest extends TaskLoadTest {
+}
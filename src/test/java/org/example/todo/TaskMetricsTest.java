@@ -0,0 +1,53 @@
+package org.example.todo;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class TaskMetricsTest {
+
+    @Autowired MockMvc mvc;
+
+    @Test
+    @DisplayName("Эндпоинты, запросы репозитория, макросы, Hibernate и пул соединений видны в Prometheus")
+    void prometheusExposesTimers() throws Exception {
+        mvc.perform(post("/api/tasks").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Метрики !2 !before 01.01.2099\"}"))
+                .andExpect(status().isCreated());
+        mvc.perform(get("/api/tasks").param("sort", "created")).andExpect(status().isOk());
+
+        String scrape = mvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertContains(scrape, "http_server_requests_seconds_bucket{");
+        assertContains(scrape, "uri=\"/api/tasks\"");
+        assertContains(scrape, "spring_data_repository_invocations_seconds_bucket{");
+        assertContains(scrape, "repository=\"TaskRepository\"");
+        assertContains(scrape, "todo_tasks_macros_seconds_bucket{");
+        assertContains(scrape, "todo_hibernate_request_statements_count{method=\"POST\",uri=\"/api/tasks\"}");
+        assertContains(scrape, "todo_hibernate_request_loads_sum{");
+        assertContains(scrape, "todo_hibernate_request_flushes_sum{");
+        assertContains(scrape, "hibernate_statements_total{");
+        assertContains(scrape, "hibernate_entities_loads_total{");
+        assertContains(scrape, "hibernate_flushes_total{");
+        assertContains(scrape, "hikaricp_connections_acquire_seconds_bucket{");
+    }
+
+    private static void assertContains(String scrape, String series) {
+        assertTrue(scrape.contains(series), () -> "missing " + series);
+    }
+}
@@ -0,0 +1,89 @@
+package org.example.todo;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.todo.model.TaskEntity;
+import org.example.todo.model.TaskStatus;
+import org.example.todo.repository.TaskRepository;
+import org.example.todo.repository.TaskTombstoneRepository;
+import org.example.todo.service.TaskService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Date;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class TaskMutationTest {
+
+    @Autowired MockMvc mvc;
+    @Autowired TaskService svc;
+    @Autowired TaskRepository repo;
+    @Autowired TaskTombstoneRepository tombstones;
+    @Autowired JdbcTemplate jdbc;
+    @Autowired EntityManagerFactory emf;
+
+    private Statistics stats;
+    private long late;
+
+    @BeforeEach
+    void seed() {
+        repo.deleteAllInBatch();
+        jdbc.update("insert into tasks (title, deadline, status, priority, created_at, updated_at) "
+                + "values ('Late task', ?, 'Overdue', 'High', current_timestamp, current_timestamp)",
+                Date.valueOf(LocalDate.now().minusDays(1)));
+        late = jdbc.queryForObject("select id from tasks where title = 'Late task'", Long.class);
+        stats = emf.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+    }
+
+    @Test
+    @DisplayName("complete и uncomplete выполняются одним запросом и возвращают новое состояние")
+    void completeInOneStatement() {
+        TaskEntity done = svc.markCompleted(late, true);
+
+        assertEquals(1, stats.getPrepareStatementCount());
+        assertEquals(TaskStatus.Late, done.getStatus());
+        assertEquals("Late task", done.getTitle());
+        assertEquals(TaskStatus.Late, repo.findById(late).orElseThrow().getStatus());
+        assertEquals(done.getUpdatedAt(), repo.findById(late).orElseThrow().getUpdatedAt());
+
+        assertEquals(TaskStatus.Overdue, svc.markCompleted(late, false).getStatus());
+    }
+
+    @Test
+    @DisplayName("delete выполняется одним запросом и оставляет tombstone")
+    void deleteInOneStatement() {
+        svc.delete(late);
+
+        assertEquals(2, stats.getPrepareStatementCount(), "delete plus the tombstone insert");
+        assertFalse(repo.existsById(late));
+        assertTrue(tombstones.existsById(late));
+    }
+
+    @Test
+    @DisplayName("404, если задачи нет: решение принимается по числу затронутых строк")
+    void missingIs404() throws Exception {
+        mvc.perform(patch("/api/tasks/{id}/complete", late + 1000))
+                .andExpect(status().isNotFound());
+        mvc.perform(delete("/api/tasks/{id}", late + 1000))
+                .andExpect(status().isNotFound());
+        mvc.perform(patch("/api/tasks/{id}/complete", late))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("Late"));
+    }
+}
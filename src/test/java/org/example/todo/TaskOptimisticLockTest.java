@@ -0,0 +1,121 @@
+package org.example.todo;
+
+import org.example.todo.model.TaskEntity;
+import org.example.todo.model.TaskView;
+import org.example.todo.service.TaskService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class TaskOptimisticLockTest {
+
+    private static final int WRITERS = 4;
+    private static final int INCREMENTS = 15;
+
+    @Autowired TestRestTemplate rest;
+    @Autowired TaskService svc;
+
+    private Long counterTask() {
+        TaskEntity t = new TaskEntity();
+        t.setTitle("Shared counter");
+        t.setDescription("0");
+        return svc.create(t).getId();
+    }
+
+    private ResponseEntity<String> put(Long id, TaskEntity body, String ifMatch) {
+        HttpHeaders headers = new HttpHeaders();
+        if (ifMatch != null) {
+            headers.setIfMatch(ifMatch);
+        }
+        return rest.exchange("/api/tasks/{id}", HttpMethod.PUT, new HttpEntity<>(body, headers), String.class, id);
+    }
+
+    @Test
+    @DisplayName("Параллельные писатели с If-Match не теряют ни одного обновления")
+    void noLostUpdates() throws Exception {
+        Long id = counterTask();
+        AtomicInteger conflicts = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(WRITERS);
+        try {
+            List<CompletableFuture<Void>> writers = new ArrayList<>();
+            for (int w = 0; w < WRITERS; w++) {
+                writers.add(CompletableFuture.runAsync(() -> {
+                    await(start);
+                    for (int done = 0; done < INCREMENTS; ) {
+                        ResponseEntity<TaskEntity> read = rest.getForEntity("/api/tasks/{id}", TaskEntity.class, id);
+                        TaskEntity t = read.getBody();
+                        t.setDescription(String.valueOf(Integer.parseInt(t.getDescription()) + 1));
+                        HttpStatus status = HttpStatus.valueOf(put(id, t, read.getHeaders().getETag()).getStatusCode().value());
+                        if (status == HttpStatus.OK) {
+                            done++;
+                        } else {
+                            assertEquals(HttpStatus.PRECONDITION_FAILED, status);
+                            conflicts.incrementAndGet();
+                        }
+                    }
+                }, pool));
+            }
+            start.countDown();
+            CompletableFuture.allOf(writers.toArray(CompletableFuture[]::new)).get();
+        } finally {
+            pool.shutdownNow();
+        }
+
+        TaskView end = svc.getById(id);
+        assertEquals(String.valueOf(WRITERS * INCREMENTS), end.description());
+        assertEquals(WRITERS * INCREMENTS, end.version());
+        System.out.printf("%d updates, %d retried after 412%n", WRITERS * INCREMENTS, conflicts.get());
+    }
+
+    @Test
+    @DisplayName("412 при устаревшем If-Match на PUT и PATCH, версия отдаётся как ETag")
+    void staleIfMatchIsRejected() {
+        Long id = counterTask();
+        ResponseEntity<TaskEntity> read = rest.getForEntity("/api/tasks/{id}", TaskEntity.class, id);
+        assertEquals("\"0\"", read.getHeaders().getETag());
+
+        TaskEntity t = read.getBody();
+        t.setDescription("1");
+        ResponseEntity<String> first = put(id, t, "\"0\"");
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        assertEquals("\"1\"", first.getHeaders().getETag());
+
+        assertEquals(HttpStatus.PRECONDITION_FAILED, put(id, t, "\"0\"").getStatusCode());
+        assertEquals(HttpStatus.OK, put(id, t, "*").getStatusCode());
+        assertEquals(HttpStatus.PRECONDITION_FAILED, put(id, t, "\"bogus\"").getStatusCode());
+
+        long current = svc.getById(id).version();
+        assertThrows(ResponseStatusException.class, () -> svc.markCompleted(id, true, current - 1));
+        TaskEntity done = svc.markCompleted(id, true, current);
+        assertEquals(current + 1, done.getVersion());
+        assertEquals(current + 1, svc.getById(id).version());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package org.example.todo;
+
+import org.example.todo.model.TaskEntity;
+import org.example.todo.model.TaskFilter;
+import org.example.todo.model.TaskPage;
+import org.example.todo.model.TaskPriority;
+import org.example.todo.model.TaskStatus;
+import org.example.todo.model.TaskView;
+import org.example.todo.repository.TaskRepository;
+import org.example.todo.service.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "todo.tasks.page.max-limit=7")
+class TaskPaginationTest {
+
+    @Autowired TaskRepository repo;
+    @Autowired TaskService svc;
+
+    @BeforeEach
+    void seed() {
+        repo.deleteAll();
+        LocalDate base = LocalDate.now().plusDays(1);
+        List<TaskEntity> tasks = new ArrayList<>();
+        for (int i = 0; i < 23; i++) {
+            TaskEntity t = new TaskEntity();
+            t.setTitle("Task " + i);
+            t.setStatus(TaskStatus.Active);
+            t.setPriority(TaskPriority.Medium);
+            t.setDeadline(i % 4 == 0 ? null : base.plusDays(i % 3));
+            tasks.add(t);
+        }
+        repo.saveAll(tasks);
+    }
+
+    @ParameterizedTest(name = "sort={0}")
+    @ValueSource(strings = {"deadline", "created", "id"})
+    @DisplayName("Обход по курсору возвращает все задачи ровно один раз в порядке сортировки")
+    void walksAllPages(String sort) {
+        List<TaskView> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            TaskPage<TaskView> page = svc.getList(sort, TaskFilter.NONE, cursor, 5);
+            assertTrue(page.items().size() <= 5);
+            seen.addAll(page.items());
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(5, pages);
+        assertEquals(23, seen.size());
+        assertEquals(23, seen.stream().map(TaskView::id).distinct().count());
+        assertEquals(sorted(seen, sort), seen.stream().map(TaskView::id).toList());
+    }
+
+    @ParameterizedTest(name = "sort={0}")
+    @ValueSource(strings = {"deadline", "created", "id"})
+    @DisplayName("GET /api/tasks с фильтром тоже обходится по курсору и не превышает максимум")
+    void walksFilteredList(String sort) {
+        TaskFilter filter = new TaskFilter(Set.of(TaskStatus.Active), Set.of(), null, null);
+        List<TaskView> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            TaskPage<TaskView> page = svc.getList(sort, filter, cursor, 1000);
+            assertTrue(page.items().size() <= 7);
+            seen.addAll(page.items());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertEquals(23, seen.size());
+        assertEquals(sorted(seen, sort), seen.stream().map(TaskView::id).toList());
+        assertEquals(7, svc.getList(sort, TaskFilter.NONE, null, null).items().size());
+    }
+
+    @Test
+    @DisplayName("Лимит ограничивается серверным максимумом")
+    void clampsLimit() {
+        assertEquals(7, svc.getList("id", TaskFilter.NONE, null, 1000).items().size());
+    }
+
+    @Test
+    @DisplayName("Курсор другой сортировки отклоняется")
+    void rejectsForeignCursor() {
+        String cursor = svc.getList("id", TaskFilter.NONE, null, 5).nextCursor();
+        assertThrows(ResponseStatusException.class, () -> svc.getList("deadline", TaskFilter.NONE, cursor, 5));
+        assertThrows(ResponseStatusException.class, () -> svc.getList("id", TaskFilter.NONE, "garbage", 5));
+    }
+
+    private List<Long> sorted(List<TaskView> tasks, String sort) {
+        Comparator<TaskView> byId = Comparator.comparing(TaskView::id);
+        Comparator<TaskView> order = switch (sort) {
+            case "deadline" -> Comparator.comparing(TaskView::deadline,
+                    Comparator.nullsLast(Comparator.naturalOrder())).thenComparing(byId);
+            case "created" -> Comparator.comparing(TaskView::createdAt).reversed()
+                    .thenComparing(byId.reversed());
+            default -> byId;
+        };
+        return tasks.stream().sorted(order).map(TaskView::id).toList();
+    }
+}
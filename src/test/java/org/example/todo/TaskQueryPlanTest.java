@@ -0,0 +1,139 @@
+package org.example.todo;
+
+import org.example.todo.model.TaskFilter;
+import org.example.todo.model.TaskPriority;
+import org.example.todo.model.TaskSort;
+import org.example.todo.model.TaskStatus;
+import org.example.todo.repository.TaskRepository;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "org.example.todo.TaskQueryPlanTest$LastStatement")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TaskQueryPlanTest {
+
+    private static final LocalDate DAY = LocalDate.of(2030, 1, 1);
+    private static final LocalDateTime TIME = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Autowired TaskRepository repo;
+    @Autowired JdbcTemplate jdbc;
+
+    @BeforeEach
+    void seed() {
+        jdbc.update("delete from tasks");
+        jdbc.batchUpdate(
+                "insert into tasks (title, deadline, status, priority, created_at) values (?, ?, ?, ?, ?)",
+                IntStream.range(0, 2000).mapToObj(i -> new Object[]{
+                        "Task " + i,
+                        i % 5 == 0 ? null : Date.valueOf(DAY.plusDays(i % 60)),
+                        i % 3 == 0 ? "Completed" : "Active", "Medium",
+                        Timestamp.valueOf(TIME.minusMinutes(i))
+                }).toList());
+        jdbc.execute("analyze");
+    }
+
+    Stream<Arguments> listQueries() {
+        Limit limit = Limit.of(51);
+        return Stream.of(
+                query("list deadline, first", r -> r.findViews(TaskFilter.NONE, TaskSort.DEADLINE, null, null, null, limit), "51"),
+                query("list deadline, next", r -> r.findViews(TaskFilter.NONE, TaskSort.DEADLINE, 10L, DAY, null, limit),
+                        date(DAY), date(DAY), "10", "51"),
+                query("list deadline, nulls", r -> r.findViews(TaskFilter.NONE, TaskSort.DEADLINE, 10L, null, null, limit),
+                        "10", "51"),
+                query("list created, first", r -> r.findViews(TaskFilter.NONE, TaskSort.CREATED, null, null, null, limit), "51"),
+                query("list created, next", r -> r.findViews(TaskFilter.NONE, TaskSort.CREATED, 10L, null, TIME, limit),
+                        ts(TIME), ts(TIME), "10", "51"),
+                query("list id, first", r -> r.findViews(TaskFilter.NONE, TaskSort.ID, null, null, null, limit), "51"),
+                query("list id, next", r -> r.findViews(TaskFilter.NONE, TaskSort.ID, 10L, null, null, limit), "10", "51")
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("listQueries")
+    @DisplayName("Запросы списков читают индекс в нужном порядке без сортировки всей таблицы")
+    void listQueryIsIndexSorted(String name, Consumer<TaskRepository> call, List<String> params) {
+        String plan = explain(call, params);
+
+        assertTrue(plan.contains("/* index sorted */"), () -> name + " is sorted in memory:\n" + plan);
+        assertFalse(plan.contains("tableScan"), () -> name + " falls back to a table scan:\n" + plan);
+    }
+
+    Stream<Arguments> filterQueries() {
+        TaskFilter byStatus = new TaskFilter(Set.of(TaskStatus.Active), Set.of(), DAY, DAY.plusDays(10));
+        TaskFilter byPriority = new TaskFilter(Set.of(), Set.of(TaskPriority.High), DAY, null);
+        Limit limit = Limit.of(51);
+        return Stream.of(
+                query("status + deadline range", r -> r.findViews(byStatus, TaskSort.DEADLINE, null, null, null, limit),
+                        "'Active'", date(DAY), date(DAY.plusDays(10)), "51"),
+                query("status + deadline range, next", r -> r.findViews(byStatus, TaskSort.DEADLINE, 10L, DAY, null, limit),
+                        "'Active'", date(DAY), date(DAY.plusDays(10)), date(DAY), date(DAY), "10", "51"),
+                query("priority + deadline from", r -> r.findViews(byPriority, TaskSort.CREATED, null, null, null, limit),
+                        "'High'", date(DAY), "51")
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("filterQueries")
+    @DisplayName("Фильтры выполняются по индексу, а не полным сканированием")
+    void filterQueryUsesIndex(String name, Consumer<TaskRepository> call, List<String> params) {
+        String plan = explain(call, params);
+
+        assertFalse(plan.contains("tableScan"), () -> name + " falls back to a table scan:\n" + plan);
+    }
+
+    private String explain(Consumer<TaskRepository> call, List<String> params) {
+        LastStatement.sql = null;
+        call.accept(repo);
+        String sql = LastStatement.sql;
+        assertNotNull(sql);
+        for (String p : params) {
+            sql = sql.replaceFirst("\\?", p);
+        }
+        assertFalse(sql.contains("?"), sql);
+        return jdbc.queryForObject("explain " + sql, String.class);
+    }
+
+    private static Arguments query(String name, Consumer<TaskRepository> call, String... params) {
+        return Arguments.of(name, call, List.of(params));
+    }
+
+    private static String date(LocalDate d) {
+        return "DATE '" + d + "'";
+    }
+
+    private static String ts(LocalDateTime t) {
+        return "TIMESTAMP '" + Timestamp.valueOf(t) + "'";
+    }
+
+    public static class LastStatement implements StatementInspector {
+        static volatile String sql;
+
+        @Override
+        public String inspect(String statement) {
+            sql = statement;
+            return statement;
+        }
+    }
+}
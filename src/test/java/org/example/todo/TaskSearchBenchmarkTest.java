@@ -0,0 +1,90 @@
+package org.example.todo;
+
+import org.example.todo.service.InMemoryTaskSearch;
+import org.example.todo.service.TaskSearch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.function.IntSupplier;
+import java.util.stream.IntStream;
+
+
+@Tag("benchmark")
+@SpringBootTest
+class TaskSearchBenchmarkTest {
+
+    private static final int ROWS = 100_000;
+    private static final int ITERATIONS = 50;
+    private static final String[] WORDS = {
+            "report", "invoice", "call", "meeting", "review", "deploy", "fix", "write", "plan", "buy",
+            "milk", "budget", "release", "backup", "design", "draft", "email", "travel", "tickets", "doctor"
+    };
+
+    @Autowired JdbcTemplate jdbc;
+    @Autowired TaskSearch search;
+
+    @BeforeEach
+    void seed() {
+        jdbc.update("delete from tasks");
+        Random rnd = new Random(42);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbc.batchUpdate(
+                "insert into tasks (title, description, status, priority, created_at, updated_at) values (?, ?, ?, ?, ?, ?)",
+                IntStream.range(0, ROWS).mapToObj(i -> new Object[]{
+                        sentence(rnd, 4) + " " + i, sentence(rnd, 12), "Active", "Medium", now, now
+                }).toList());
+        jdbc.update("insert into tasks (title, description, status, priority, created_at, updated_at) values (?, ?, ?, ?, ?, ?)",
+                "Renew passport", "needle in a haystack", "Active", "Medium", now, now);
+        ((InMemoryTaskSearch) search).rebuild();
+    }
+
+    @Test
+    @DisplayName("Инвертированный индекс против LIKE '%q%' на 100k строк")
+    void indexVsLike() {
+        double index = measure(() -> search.search("passport", 20).size());
+        double like = measure(() -> jdbc.queryForList(
+                "select id from tasks where lower(title) like ? or lower(description) like ? limit 20",
+                Long.class, "%passport%", "%passport%").size());
+        double indexCommon = measure(() -> search.search("budget review", 20).size());
+        double likeCommon = measure(() -> jdbc.queryForList(
+                "select id from tasks where (lower(title) like ? or lower(description) like ?)"
+                        + " and (lower(title) like ? or lower(description) like ?) limit 20",
+                Long.class, "%budget%", "%budget%", "%review%", "%review%").size());
+
+        System.out.printf("%-28s %10s%n", "query", "avg ms");
+        System.out.printf("%-28s %10.3f%n", "index: rare term", index);
+        System.out.printf("%-28s %10.3f%n", "LIKE:  rare term", like);
+        System.out.printf("%-28s %10.3f%n", "index: two common terms", indexCommon);
+        System.out.printf("%-28s %10.3f%n", "LIKE:  two common terms", likeCommon);
+    }
+
+    private double measure(IntSupplier body) {
+        for (int i = 0; i < 5; i++) {
+            body.getAsInt();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            body.getAsInt();
+        }
+        return (System.nanoTime() - start) / 1e6 / ITERATIONS;
+    }
+
+    private static String sentence(Random rnd, int words) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(WORDS[rnd.nextInt(WORDS.length)]);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,66 @@
+package org.example.todo;
+
+import org.example.todo.model.TaskEntity;
+import org.example.todo.model.TaskSearchHit;
+import org.example.todo.service.TaskSearch;
+import org.example.todo.service.TaskService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class TaskSearchTest {
+
+    @Autowired TaskService svc;
+    @Autowired TaskSearch search;
+
+    private TaskEntity create(String title, String description) {
+        TaskEntity t = new TaskEntity();
+        t.setTitle(title);
+        t.setDescription(description);
+        return svc.create(t);
+    }
+
+    private List<Long> ids(String q) {
+        return search.search(q, 10).stream().map(h -> h.task().id()).toList();
+    }
+
+    @Test
+    @DisplayName("Ищет по заголовку и описанию, выше те, где совпадений больше")
+    void ranksByMatches() {
+        TaskEntity both = create("Купить молоко", "молоко и хлеб, молоко обязательно");
+        TaskEntity title = create("Молоко для кота", null);
+        create("Позвонить маме", "про молоко не забыть? нет");
+        create("Сдать отчёт", "квартальный");
+
+        List<TaskSearchHit> hits = search.search("МОЛОКО", 10);
+
+        assertEquals(3, hits.size());
+        assertEquals(both.getId(), hits.get(0).task().id());
+        assertTrue(hits.get(0).rank() > hits.get(1).rank());
+        assertTrue(ids("молоко").contains(title.getId()));
+        assertEquals(List.of(both.getId()), ids("молоко хлеб"));
+        assertTrue(ids("несуществующее").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Индекс обновляется при изменении и удалении задачи")
+    void followsWrites() {
+        TaskEntity t = create("Write quarterly report", null);
+        assertEquals(List.of(t.getId()), ids("quarterly"));
+
+        TaskEntity change = new TaskEntity();
+        change.setTitle("Write yearly summary");
+        svc.update(t.getId(), change);
+        assertTrue(ids("quarterly").isEmpty());
+        assertEquals(List.of(t.getId()), ids("yearly"));
+
+        svc.delete(t.getId());
+        assertTrue(ids("yearly").isEmpty());
+    }
+}
@@ -1,11 +1,25 @@
 package org.example.todo;
 
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
 import org.example.todo.model.TaskEntity;
 import org.example.todo.model.TaskPriority;
 import org.example.todo.model.TaskStatus;
+import org.example.todo.model.TaskView;
 import org.example.todo.repository.TaskRepository;
+import org.example.todo.repository.TaskTombstoneRepository;
+import org.example.todo.service.DeadlineMacro;
+import org.example.todo.service.InDaysMacro;
+import org.example.todo.service.PriorityMacro;
+import org.example.todo.service.TaskBatchProperties;
+import org.example.todo.service.TaskCache;
+import org.example.todo.service.TaskCacheProperties;
+import org.example.todo.service.TaskPageProperties;
 import org.example.todo.service.TaskService;
+import org.example.todo.service.TitleMacroEngine;
+import org.example.todo.service.TodayDeadlineMacro;
+import org.example.todo.service.TomorrowMacro;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -15,6 +29,7 @@ import org.mockito.Mockito;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -38,7 +53,11 @@ public class TaskServiceTest {
     @BeforeEach
     void setUp() {
         taskRepository = Mockito.mock(TaskRepository.class);
-        taskService = new TaskService(taskRepository);
+        taskService = new TaskService(taskRepository, Mockito.mock(TaskTombstoneRepository.class), new TaskPageProperties(50, 500),
+                new TaskCache(new TaskCacheProperties(100, Duration.ofMinutes(1)), new SimpleMeterRegistry()),
+                event -> { }, Validation.buildDefaultValidatorFactory().getValidator(), new TaskBatchProperties(1000),
+                new TitleMacroEngine(List.of(new PriorityMacro(), new DeadlineMacro(),
+                        new TodayDeadlineMacro(), new TomorrowMacro(), new InDaysMacro())), new SimpleMeterRegistry());
 
         List<TaskEntity> saved = new ArrayList<>();
         AtomicLong idGen = new AtomicLong(1);
@@ -59,6 +78,14 @@ public class TaskServiceTest {
                     .filter(e -> Objects.equals(e.getId(), id))
                     .findFirst();
         });
+
+        when(taskRepository.updateCompletion(anyLong(), any(), any(), any(), any(), any())).thenAnswer(inv -> {
+            Long id = inv.getArgument(0);
+            return saved.stream()
+                    .filter(e -> Objects.equals(e.getId(), id))
+                    .findFirst()
+                    .map(TaskView::from);
+        });
     }
     private TaskEntity newTask(String title, TaskPriority priority) {
         TaskEntity task = new TaskEntity();
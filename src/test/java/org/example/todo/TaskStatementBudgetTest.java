@@ -0,0 +1,136 @@
+package org.example.todo;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Statement budgets per endpoint: a new read-before-write or N+1 fails here instead of in production.
+// Only statements executed on the test thread are counted, so background jobs cannot skew the numbers;
+// a JDBC batch counts once, and pooled sequence calls (one per 50 ids) are not counted at all.
+// Every write transaction also bumps the shared list version once, and GET /api/tasks reads it first.
+@SpringBootTest
+@AutoConfigureMockMvc
+class TaskStatementBudgetTest {
+
+    private static final ThreadLocal<List<String>> STATEMENTS = new ThreadLocal<>();
+
+    @TestConfiguration
+    static class CountingDataSource {
+        @Bean
+        static BeanPostProcessor countingDataSourceProxy() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String name) {
+                    if (!(bean instanceof DataSource ds)) {
+                        return bean;
+                    }
+                    return ProxyDataSourceBuilder.create(ds).name(name).listener(new QueryExecutionListener() {
+                        @Override
+                        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queries) {
+                        }
+
+                        @Override
+                        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queries) {
+                            List<String> current = STATEMENTS.get();
+                            if (current != null && !queries.get(0).getQuery().contains("task_id_seq")) {
+                                current.add(queries.get(0).getQuery());
+                            }
+                        }
+                    }).build();
+                }
+            };
+        }
+    }
+
+    @Autowired MockMvc mvc;
+    @Autowired ObjectMapper mapper;
+
+    private final List<Long> ids = new ArrayList<>();
+
+    @BeforeEach
+    void seed() throws Exception {
+        ids.clear();
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < 20; i++) {
+            body.append(i == 0 ? "" : ",").append("{\"title\":\"Бюджетная задача ").append(i).append(" !before 31.12.2099\"}");
+        }
+        String json = mvc.perform(post("/api/tasks/batch").contentType(MediaType.APPLICATION_JSON).content(body.append(']').toString()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        mapper.readTree(json).forEach(r -> ids.add(r.path("task").path("id").asLong()));
+        // Warm the list and search paths so their one-off loads are not charged to the endpoints below.
+        mvc.perform(get("/api/tasks/search").param("q", "Бюджетная"));
+        mvc.perform(get("/api/tasks/stats"));
+    }
+
+    @Test
+    @DisplayName("Запись: создание, изменение, завершение и удаление укладываются в бюджет запросов")
+    void writeBudgets() throws Exception {
+        long id = ids.get(0);
+        assertBudget(2, post("/api/tasks").contentType(MediaType.APPLICATION_JSON).content("{\"title\":\"Новая задача\"}"));
+        assertBudget(2, patch("/api/tasks/{id}/complete", id));
+        assertBudget(2, patch("/api/tasks/{id}/uncomplete", id));
+        assertBudget(3, put("/api/tasks/{id}", id).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Изменённая задача\"}"));
+        assertBudget(3, delete("/api/tasks/{id}", id));
+    }
+
+    @Test
+    @DisplayName("Пакетные операции не зависят от числа задач в запросе")
+    void bulkBudgetsDoNotGrowWithIds() throws Exception {
+        assertBudget(3, patch("/api/tasks/bulk/complete").contentType(MediaType.APPLICATION_JSON).content(json(ids.subList(0, 2))));
+        assertBudget(3, patch("/api/tasks/bulk/complete").contentType(MediaType.APPLICATION_JSON).content(json(ids)));
+        assertBudget(4, post("/api/tasks/bulk/delete").contentType(MediaType.APPLICATION_JSON).content(json(ids.subList(0, 2))));
+        assertBudget(4, post("/api/tasks/bulk/delete").contentType(MediaType.APPLICATION_JSON).content(json(ids)));
+        assertBudget(2, post("/api/tasks/batch").contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"title\":\"Первая задача\"},{\"title\":\"Вторая задача\"},{\"title\":\"Третья задача\"}]"));
+    }
+
+    @Test
+    @DisplayName("Чтение: задача и поиск выполняются одним запросом, страница списка — ещё одним за версией")
+    void readBudgets() throws Exception {
+        assertBudget(2, get("/api/tasks").param("sort", "deadline"));
+        assertBudget(2, get("/api/tasks").param("limit", "5").param("status", "Active"));
+        assertBudget(1, get("/api/tasks/{id}", ids.get(1)));
+        assertBudget(0, get("/api/tasks/{id}", ids.get(1)));
+        assertBudget(1, get("/api/tasks/search").param("q", "Бюджетная"));
+        assertBudget(0, get("/api/tasks/stats"));
+    }
+
+    private String json(List<Long> ids) throws Exception {
+        return mapper.writeValueAsString(ids);
+    }
+
+    private void assertBudget(int budget, RequestBuilder request) throws Exception {
+        List<String> statements = new ArrayList<>();
+        STATEMENTS.set(statements);
+        try {
+            mvc.perform(request).andExpect(status().is2xxSuccessful());
+        } finally {
+            STATEMENTS.remove();
+        }
+        assertEquals(budget, statements.size(), () -> "statements:\n" + String.join("\n", statements));
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.todo;
+
+import org.example.todo.model.TaskEntity;
+import org.example.todo.model.TaskPriority;
+import org.example.todo.model.TaskStats;
+import org.example.todo.model.TaskStatus;
+import org.example.todo.service.TaskService;
+import org.example.todo.service.TaskStatsService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class TaskStatsTest {
+
+    @Autowired TaskService svc;
+    @Autowired TaskStatsService stats;
+    @Autowired JdbcTemplate jdbc;
+
+    private TaskEntity create(String title, TaskPriority priority) {
+        TaskEntity t = new TaskEntity();
+        t.setTitle(title);
+        t.setPriority(priority);
+        return svc.create(t);
+    }
+
+    @Test
+    @DisplayName("Счётчики следуют за созданием, изменением и удалением, сверка исправляет расхождения")
+    void countersFollowWritesAndReconcile() {
+        stats.reconcile();
+        TaskStats start = stats.stats();
+
+        TaskEntity a = create("First task", TaskPriority.High);
+        TaskEntity b = create("Second task", TaskPriority.Low);
+        svc.markCompleted(a.getId(), true);
+        svc.delete(b.getId());
+        create("Third task", TaskPriority.High);
+
+        TaskStats now = stats.stats();
+        assertEquals(start.total() + 2, now.total());
+        assertEquals(start.byStatus().get(TaskStatus.Completed) + 1, now.byStatus().get(TaskStatus.Completed));
+        assertEquals(start.byStatus().get(TaskStatus.Active) + 1, now.byStatus().get(TaskStatus.Active));
+        assertEquals(start.byPriority().get(TaskPriority.High) + 2, now.byPriority().get(TaskPriority.High));
+        assertEquals(start.byPriority().get(TaskPriority.Low), now.byPriority().get(TaskPriority.Low));
+
+        jdbc.update("update tasks set status = 'Overdue', deadline = ? where id = ?",
+                LocalDate.now().minusDays(1), a.getId());
+        assertEquals(now.overdue(), stats.stats().overdue());
+
+        stats.reconcile();
+        assertEquals(now.overdue() + 1, stats.stats().overdue());
+        assertEquals(now.byStatus().get(TaskStatus.Completed) - 1, stats.stats().byStatus().get(TaskStatus.Completed));
+    }
+}
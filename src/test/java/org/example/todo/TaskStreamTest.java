@@ -0,0 +1,117 @@
+package org.example.todo;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.todo.model.TaskEntity;
+import org.example.todo.model.TaskPriority;
+import org.example.todo.model.TaskStatus;
+import org.example.todo.repository.TaskRepository;
+import org.example.todo.service.TaskExportExecutor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.env.Environment;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "todo.tasks.stream.threads=1",
+        "todo.tasks.stream.queue-capacity=0"
+})
+@AutoConfigureMockMvc
+class TaskStreamTest {
+
+    @Autowired MockMvc mockMvc;
+    @Autowired ObjectMapper objectMapper;
+    @Autowired TaskRepository repo;
+    @Autowired Environment env;
+    @Autowired TaskExportExecutor exports;
+
+    @BeforeEach
+    void seed() {
+        repo.deleteAll();
+        List<TaskEntity> tasks = new ArrayList<>();
+        for (int i = 0; i < 1200; i++) {
+            TaskEntity t = new TaskEntity();
+            t.setTitle("Task " + i);
+            t.setStatus(TaskStatus.Active);
+            t.setPriority(TaskPriority.Low);
+            tasks.add(t);
+        }
+        repo.saveAll(tasks);
+    }
+
+    @Test
+    @DisplayName("GET /api/tasks/stream отдаёт каждую задачу отдельной строкой NDJSON по порядку id")
+    void streamsNdjson() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/tasks/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        String[] lines = body.split("\n");
+        assertEquals(1200, lines.length);
+        long prev = Long.MIN_VALUE;
+        for (String line : lines) {
+            TaskEntity t = objectMapper.readValue(line, TaskEntity.class);
+            assertEquals(true, t.getId() > prev);
+            prev = t.getId();
+        }
+        assertEquals('\n', body.charAt(body.length() - 1));
+    }
+
+    @Test
+    @DisplayName("Длинный таймаут действует только на поток, а не на все асинхронные запросы")
+    void timeoutIsScopedToStream() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/tasks/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk());
+
+        assertEquals(Duration.ofMinutes(10).toMillis(), started.getRequest().getAsyncContext().getTimeout());
+        assertNull(env.getProperty("spring.mvc.async.request-timeout"));
+    }
+
+    @Test
+    @DisplayName("503, когда все потоки выгрузки заняты, а общий исполнитель не используется")
+    void rejectsWhenExportPoolIsFull() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        exports.execute(() -> {
+            running.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        try {
+            assertTrue(running.await(5, TimeUnit.SECONDS));
+            mockMvc.perform(get("/api/tasks/stream"))
+                    .andExpect(status().isServiceUnavailable());
+        } finally {
+            release.countDown();
+        }
+    }
+}
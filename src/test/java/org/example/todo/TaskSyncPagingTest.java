@@ -0,0 +1,71 @@
+package org.example.todo;
+
+import org.example.todo.model.TaskChanges;
+import org.example.todo.model.TaskEntity;
+import org.example.todo.model.TaskView;
+import org.example.todo.service.TaskService;
+import org.example.todo.service.TaskSyncService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "todo.sync.commit-lag=0s",
+        "todo.sync.page-size=2",
+        "todo.sync.resync-threshold=5"
+})
+class TaskSyncPagingTest {
+
+    @Autowired TaskService svc;
+    @Autowired TaskSyncService sync;
+
+    private Long create(String title) {
+        TaskEntity t = new TaskEntity();
+        t.setTitle(title);
+        return svc.create(t).getId();
+    }
+
+    @Test
+    @DisplayName("Отдаёт изменения страницами и продолжает с токена без пропусков и повторов")
+    void pagesThroughChanges() {
+        TaskChanges initial = sync.changesSince(null);
+        List<Long> created = List.of(create("Page one"), create("Page two"), create("Page three"), create("Page four"));
+        svc.delete(created.get(0));
+
+        TaskChanges first = sync.changesSince(initial.token());
+        assertFalse(first.fullResync());
+        assertTrue(first.hasMore());
+        assertEquals(2, first.updated().size());
+
+        TaskChanges second = sync.changesSince(first.token());
+        assertFalse(second.hasMore());
+
+        List<Long> seen = new ArrayList<>();
+        first.updated().stream().map(TaskView::id).forEach(seen::add);
+        second.updated().stream().map(TaskView::id).forEach(seen::add);
+        assertEquals(created.subList(1, 4), seen);
+        assertEquals(List.of(created.get(0)),
+                first.deleted().isEmpty() ? second.deleted() : first.deleted());
+    }
+
+    @Test
+    @DisplayName("Требует полной синхронизации, если клиент отстал больше порога")
+    void farBehindRequiresResync() {
+        TaskChanges initial = sync.changesSince(null);
+        for (int i = 0; i < 6; i++) {
+            create("Backlog " + i);
+        }
+
+        TaskChanges changes = sync.changesSince(initial.token());
+
+        assertTrue(changes.fullResync());
+        assertFalse(changes.hasMore());
+        assertTrue(changes.updated().isEmpty());
+    }
+}
@@ -0,0 +1,82 @@
+package org.example.todo;
+
+import org.example.todo.model.TaskChanges;
+import org.example.todo.model.TaskEntity;
+import org.example.todo.model.TaskView;
+import org.example.todo.service.TaskService;
+import org.example.todo.service.TaskSyncService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "todo.sync.commit-lag=0s")
+class TaskSyncTest {
+
+    @Autowired TaskService svc;
+    @Autowired TaskSyncService sync;
+
+    private TaskEntity create(String title) {
+        TaskEntity t = new TaskEntity();
+        t.setTitle(title);
+        return svc.create(t);
+    }
+
+    @Test
+    @DisplayName("Возвращает созданные, изменённые и удалённые задачи с момента токена")
+    void returnsDelta() throws Exception {
+        TaskEntity kept = create("Kept task");
+        TaskEntity renamed = create("Renamed task");
+        TaskEntity removed = create("Removed task");
+
+        TaskChanges initial = sync.changesSince(null);
+        assertTrue(initial.fullResync());
+        Thread.sleep(5);
+
+        TaskEntity added = create("Added task");
+        TaskEntity change = new TaskEntity();
+        change.setTitle("Renamed again");
+        svc.update(renamed.getId(), change);
+        svc.delete(removed.getId());
+
+        TaskChanges delta = sync.changesSince(initial.token());
+        assertFalse(delta.fullResync());
+        assertEquals(
+                List.of(added.getId(), renamed.getId()),
+                delta.updated().stream().map(TaskView::id).toList());
+        assertEquals(List.of(removed.getId()), delta.deleted());
+        assertFalse(delta.updated().stream().anyMatch(v -> v.id().equals(kept.getId())));
+
+        Thread.sleep(5);
+        TaskChanges next = sync.changesSince(delta.token());
+        assertTrue(next.updated().isEmpty());
+        assertTrue(next.deleted().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Требует полной синхронизации, если токен старше срока хранения надгробий")
+    void tooOldTokenRequiresResync() {
+        LocalDateTime at = LocalDateTime.now().minusDays(31);
+        String raw = "2|" + at + "|0|" + at + "|0";
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+
+        TaskChanges changes = sync.changesSince(token);
+
+        assertTrue(changes.fullResync());
+        assertNotEquals(token, changes.token());
+    }
+
+    @Test
+    @DisplayName("400 на испорченный токен")
+    void rejectsGarbage() {
+        assertThrows(ResponseStatusException.class, () -> sync.changesSince("not-a-token"));
+    }
+}
@@ -0,0 +1,140 @@
+package org.example.todo;
+
+import org.example.todo.model.TaskPriority;
+import org.example.todo.service.DeadlineMacro;
+import org.example.todo.service.InDaysMacro;
+import org.example.todo.service.PriorityMacro;
+import org.example.todo.service.TitleMacro;
+import org.example.todo.service.TitleMacroContext;
+import org.example.todo.service.TitleMacroEngine;
+import org.example.todo.service.TodayDeadlineMacro;
+import org.example.todo.service.TomorrowMacro;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TitleMacroEngineTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2030, 3, 10);
+
+    private final TitleMacroEngine engine = new TitleMacroEngine(List.of(new PriorityMacro(), new DeadlineMacro(),
+            new TodayDeadlineMacro(), new TomorrowMacro(), new InDaysMacro()));
+
+    @ParameterizedTest
+    @CsvSource({
+            "'Позвонить !tomorrow', 'Позвонить', 2030-03-11",
+            "'!in 3d Отчёт', 'Отчёт', 2030-03-13",
+            "'Отчёт !in  2w', 'Отчёт', 2030-03-24",
+            "'Отчёт !tomorrow !before 01.01.2031', 'Отчёт', 2030-03-11",
+            "'Отчёт !before 01.01.2031 !in 3d', 'Отчёт', 2031-01-01",
+            "'Отчёт !in 3d !before', 'Отчёт  !before', 2030-03-13"
+    })
+    @DisplayName("Относительные макросы дедлайна: побеждает первый в заголовке")
+    void relativeDeadlines(String input, String title, LocalDate deadline) {
+        TitleMacroEngine.Parsed parsed = engine.parse(input, false, TODAY);
+        assertEquals(title, parsed.title());
+        assertEquals(deadline, parsed.deadline());
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "'Отчёт !tomorrows'",
+            "'Отчёт !in 3days'",
+            "'Отчёт !in3d'",
+            "'Отчёт !in 12345d'"
+    })
+    @DisplayName("Макрос без границы слова остаётся в заголовке")
+    void incompleteMacrosStay(String input) {
+        TitleMacroEngine.Parsed parsed = engine.parse(input, false, TODAY);
+        assertEquals(input, parsed.title());
+        assertNull(parsed.deadline());
+    }
+
+    @Test
+    @DisplayName("Заданный дедлайн не меняется, но макрос убирается из заголовка")
+    void explicitDeadlineWins() {
+        TitleMacroEngine.Parsed parsed = engine.parse("Отчёт !tomorrow !1", true, TODAY);
+        assertEquals("Отчёт", parsed.title());
+        assertNull(parsed.deadline());
+        assertEquals(TaskPriority.Critical, parsed.priority());
+    }
+
+    @Test
+    @DisplayName("Токены убираются до того, как макросы дедлайна видят заголовок")
+    void tokensStrippedBeforeMacros() {
+        TitleMacroEngine.Parsed parsed = engine.parse("Отчёт !in !23d !to!4morrow", false, TODAY);
+        assertEquals("Отчёт", parsed.title());
+        assertEquals(TODAY.plusDays(3), parsed.deadline());
+        assertEquals(TaskPriority.High, parsed.priority());
+    }
+
+    @Test
+    @DisplayName("Фоллбэк в фазе токенов не принимается")
+    void rejectsTokenFallback() {
+        TitleMacro fallbackToken = new TodayDeadlineMacro() {
+            @Override
+            public int phase() {
+                return 0;
+            }
+        };
+        assertThrows(IllegalArgumentException.class, () -> new TitleMacroEngine(List.of(fallbackToken)));
+    }
+
+    @Nested
+    @SpringBootTest
+    class Registration {
+
+        @TestConfiguration
+        static class UrgentMacro {
+            @Bean
+            TitleMacro urgent() {
+                return new TitleMacro() {
+                    @Override
+                    public List<String> triggers() {
+                        return List.of("!urgent");
+                    }
+
+                    @Override
+                    public int phase() {
+                        return 0;
+                    }
+
+                    @Override
+                    public int match(char[] text, int from, int to) {
+                        return from + 7;
+                    }
+
+                    @Override
+                    public boolean apply(TitleMacroContext ctx, char[] text, int from, int end) {
+                        ctx.priority(TaskPriority.Critical);
+                        return true;
+                    }
+                };
+            }
+        }
+
+        @Autowired TitleMacroEngine engine;
+
+        @Test
+        @DisplayName("Макрос, объявленный бином, подхватывается движком вместе со встроенными")
+        void beanMacroIsRegistered() {
+            TitleMacroEngine.Parsed parsed = engine.parse("!urgent Починить !in 1d", false, TODAY);
+            assertEquals("Починить", parsed.title());
+            assertEquals(TaskPriority.Critical, parsed.priority());
+            assertEquals(TODAY.plusDays(1), parsed.deadline());
+        }
+    }
+}
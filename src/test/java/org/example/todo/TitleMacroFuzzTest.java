@@ -0,0 +1,185 @@
+package org.example.todo;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.example.todo.model.TaskEntity;
+import org.example.todo.model.TaskPriority;
+import org.example.todo.repository.TaskRepository;
+import org.example.todo.repository.TaskTombstoneRepository;
+import org.example.todo.service.DeadlineMacro;
+import org.example.todo.service.InDaysMacro;
+import org.example.todo.service.PriorityMacro;
+import org.example.todo.service.TaskBatchProperties;
+import org.example.todo.service.TaskCache;
+import org.example.todo.service.TaskCacheProperties;
+import org.example.todo.service.TaskPageProperties;
+import org.example.todo.service.TaskService;
+import org.example.todo.service.TitleMacroEngine;
+import org.example.todo.service.TodayDeadlineMacro;
+import org.example.todo.service.TomorrowMacro;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mockito;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+class TitleMacroFuzzTest {
+
+    private static final String[] PIECES = {
+            "!1", "!2", "!3", "!4", "!5", "!0", "!", "!!", "!before", "!befo", "re", "!b", "efore",
+            " ", "  ", "\t", "\n", "\u000B", "\u0001", " ",
+            "0", "1", "2", "9", "01", "12", "13", "28", "29", "30", "31", "32", "00", "02", "04",
+            ".", "-", "..", "2030", "2024", "2023", "0000", "1900", "20301",
+            "Task", "a", "bc", "x y", "Купить",
+            "!before 01.01.2030", "!before 5-06-2030", "!before  31.02.2024", "!before 1.1.2030",
+            "!before\t29-02-2023", "!before 12.1.2030", "!before 7.10-2030", "!before 31.04.", "!before 3"
+    };
+
+    private TaskService service;
+
+    @BeforeEach
+    void setUp() {
+        TaskRepository repo = Mockito.mock(TaskRepository.class, Mockito.withSettings().stubOnly());
+        when(repo.save(any(TaskEntity.class))).thenAnswer(inv -> inv.getArgument(0));
+        service = new TaskService(repo, Mockito.mock(TaskTombstoneRepository.class), new TaskPageProperties(50, 500),
+                new TaskCache(new TaskCacheProperties(10, Duration.ofMinutes(1)), new SimpleMeterRegistry()),
+                event -> { }, Validation.buildDefaultValidatorFactory().getValidator(), new TaskBatchProperties(10),
+                new TitleMacroEngine(List.of(new PriorityMacro(), new DeadlineMacro(),
+                        new TodayDeadlineMacro(), new TomorrowMacro(), new InDaysMacro())), new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Однопроходный разбор макросов совпадает с прежней реализацией на случайных заголовках")
+    void matchesLegacyOnRandomTitles() {
+        long seed = System.nanoTime();
+        Random random = new Random(seed);
+        for (int i = 0; i < 200_000; i++) {
+            StringBuilder title = new StringBuilder();
+            for (int k = random.nextInt(12); k > 0; k--) {
+                title.append(PIECES[random.nextInt(PIECES.length)]);
+            }
+            TaskPriority priority = random.nextInt(4) == 0 ? TaskPriority.Low : null;
+            LocalDate deadline = random.nextInt(4) == 0 ? LocalDate.of(2031, 5, 6) : null;
+            compare(title.toString(), priority, deadline, "seed " + seed + ", iteration " + i);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "Task !before 31.02.2024", "Task !before 31.02.2023", "Task !before 31.04.0000",
+            "Task !before 1.1.2030", "Task !before 01.01-2030", "Task !before 00.01.2030",
+            "Task !before 01.13.2030", "Task !befo!1re 01.01.2030", "!!12 Task", "Task !before!before",
+            "Task !be!beforefore", "Task !before \t\n 5-06-2030 tail !before 07.07.2030",
+            "Task !before 123.01.2030 !before", "  !1  ", "Task !before 01.01.20301", "Task"
+    })
+    @DisplayName("Пограничные случаи макросов совпадают с прежней реализацией")
+    void matchesLegacyOnEdgeCases(String title) {
+        compare(title, null, null, title);
+        compare(title, TaskPriority.High, LocalDate.of(2031, 5, 6), title);
+    }
+
+    private void compare(String title, TaskPriority priority, LocalDate deadline, String context) {
+        TaskEntity expected = task(title, priority, deadline);
+        TaskEntity actual = task(title, priority, deadline);
+        Class<?> expectedError = null;
+        Class<?> actualError = null;
+        try {
+            Legacy.applyMacros(expected);
+        } catch (RuntimeException e) {
+            expectedError = e.getClass();
+        }
+        try {
+            service.create(actual);
+        } catch (RuntimeException e) {
+            actualError = e.getClass();
+        }
+        String where = context + ", title " + Objects.toString(title).replace("\n", "\\n");
+        assertEquals(expectedError, actualError, where);
+        if (expectedError == null) {
+            assertEquals(expected.getTitle(), actual.getTitle(), where);
+            assertEquals(expected.getPriority(), actual.getPriority(), where);
+            assertEquals(expected.getDeadline(), actual.getDeadline(), where);
+        }
+    }
+
+    private static TaskEntity task(String title, TaskPriority priority, LocalDate deadline) {
+        TaskEntity t = new TaskEntity();
+        t.setTitle(title);
+        t.setPriority(priority);
+        t.setDeadline(deadline);
+        return t;
+    }
+
+    // The regex-based implementation this parser replaced, kept verbatim as the reference.
+    private static final class Legacy {
+        private static final DateTimeFormatter DTF_DOT  = DateTimeFormatter.ofPattern("d.MM.uuuu");
+        private static final DateTimeFormatter DTF_DASH = DateTimeFormatter.ofPattern("d-MM-uuuu");
+        private static final Pattern PRIORITY_MACRO = Pattern.compile("!([1-4])");
+        private static final Pattern DEADLINE_MACRO = Pattern.compile("!before\\s+(\\d{1,2}[.\\-]\\d{1,2}[.\\-]\\d{4})");
+
+        static void applyMacros(TaskEntity t) {
+            String title = t.getTitle();
+
+            Matcher mP = PRIORITY_MACRO.matcher(title);
+            if (mP.find()) {
+                int lvl = Integer.parseInt(mP.group(1));
+                if (t.getPriority() == null) {
+                    t.setPriority(TaskPriority.values()[lvl - 1]);
+                }
+                title = mP.replaceAll("").trim();
+            } else if (t.getPriority() == null) {
+                t.setPriority(TaskPriority.Medium);
+            }
+
+            Matcher mD = DEADLINE_MACRO.matcher(title);
+            if (mD.find()) {
+                String dateStr = mD.group(1);
+                if (t.getDeadline() == null) {
+                    LocalDate ld = parseDate(dateStr);
+                    t.setDeadline(ld);
+                }
+                title = mD.replaceAll("").trim();
+            }
+
+            else if (t.getDeadline() == null && title.contains("!before")) {
+                t.setDeadline(LocalDate.now());
+                title = title.replace("!before", "").trim();
+            }
+
+            title = title.trim();
+            if (title.length() < 4) {
+                throw new ResponseStatusException(
+                        HttpStatus.BAD_REQUEST,
+                        "Title must be at least 4 characters long"
+                );
+            }
+
+            t.setTitle(title);
+        }
+
+        private static LocalDate parseDate(String s) {
+            try {
+                return LocalDate.parse(s, DTF_DOT);
+            } catch (DateTimeParseException ex) {
+                return LocalDate.parse(s, DTF_DASH);
+            }
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package org.example.todo;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.example.todo.model.TaskEntity;
+import org.example.todo.model.TaskPriority;
+import org.example.todo.repository.ConcurrencyLimitingDataSource;
+import org.example.todo.service.TaskListVersion;
+import org.example.todo.service.TaskService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ActiveProfiles("virtual")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class VirtualThreadPinningTest {
+
+    private static final String PINNED = "jdk.VirtualThreadPinned";
+    private static final List<String> JDBC_FRAMES =
+            List.of("java.sql.", "javax.sql.", "org.h2.", "org.postgresql.", "com.zaxxer.hikari.", "org.hibernate.");
+
+    @LocalServerPort int port;
+    @Autowired DataSource dataSource;
+    @Autowired HikariDataSource hikari;
+    @Autowired TaskService svc;
+    @Autowired TaskListVersion version;
+    @Autowired TransactionTemplate tx;
+
+    private final Object monitor = new Object();
+
+    @Test
+    @DisplayName("Детектор видит виртуальный поток, заблокированный внутри synchronized")
+    void detectorSeesPinning() throws Exception {
+        List<RecordedEvent> events = recordPinning(() -> {
+            Thread thread = Thread.ofVirtual().start(() -> {
+                synchronized (monitor) {
+                    sleep(50);
+                }
+            });
+            thread.join();
+        });
+
+        assertFalse(events.isEmpty(), "pinning was not detected");
+    }
+
+    @Test
+    @DisplayName("Под нагрузкой ни один synchronized не удерживает поток-носитель во время JDBC-вызова")
+    void noPinningAcrossJdbc() throws Exception {
+        HttpClient http = HttpClient.newHttpClient();
+        List<Future<Integer>> responses = new ArrayList<>();
+        List<RecordedEvent> events = recordPinning(() -> {
+            try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < 300; i++) {
+                    int n = i;
+                    responses.add(clients.submit(() -> send(http, n)));
+                }
+            }
+        });
+
+        // No pinning means nothing if the requests failed before reaching JDBC.
+        List<String> failures = new ArrayList<>();
+        for (int i = 0; i < responses.size(); i++) {
+            try {
+                int status = responses.get(i).get();
+                if (status / 100 != 2) {
+                    failures.add("request " + i + ": HTTP " + status);
+                }
+            } catch (ExecutionException ex) {
+                failures.add("request " + i + ": " + ex.getCause());
+            }
+        }
+        assertTrue(failures.isEmpty(), () -> failures.size() + " failed requests:\n" + String.join("\n", failures));
+
+        List<String> acrossJdbc = events.stream()
+                .filter(e -> e.getStackTrace() != null && e.getStackTrace().getFrames().stream().anyMatch(this::isJdbc))
+                .map(this::describe)
+                .toList();
+        assertTrue(acrossJdbc.isEmpty(), () -> acrossJdbc.size() + " pinned JDBC calls:\n" + String.join("\n\n", acrossJdbc));
+    }
+
+    @Test
+    @DisplayName("Число одновременных соединений ограничено разрешениями")
+    void connectionsAreLimited() throws Exception {
+        assertInstanceOf(ConcurrencyLimitingDataSource.class, dataSource);
+
+        ConcurrencyLimitingDataSource limited = new ConcurrencyLimitingDataSource(hikari, 1, Duration.ofMillis(100));
+        try (Connection first = limited.getConnection()) {
+            assertThrows(SQLTransientConnectionException.class, limited::getConnection);
+            first.close();
+            try (Connection second = limited.getConnection()) {
+                assertTrue(second.isValid(1));
+            }
+        }
+        assertEquals(1, limited.availablePermits());
+    }
+
+    @Test
+    @DisplayName("Запись при занятом пуле продвигает версию списка без второго соединения")
+    void concurrentWritesSaturatingPool() throws Exception {
+        int writers = hikari.getMaximumPoolSize();
+        long before = versionOf(version.current());
+        // Every writer holds its transaction's connection until all of them do, so the pool and the
+        // permits are exhausted at the moment they commit.
+        CyclicBarrier allHolding = new CyclicBarrier(writers);
+        List<Future<?>> writes = new ArrayList<>();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < writers; i++) {
+                int n = i;
+                writes.add(clients.submit(() -> tx.executeWithoutResult(s -> {
+                    TaskEntity t = new TaskEntity();
+                    t.setTitle("Пул занят " + n);
+                    t.setPriority(TaskPriority.Medium);
+                    svc.create(t);
+                    await(allHolding);
+                })));
+            }
+            for (Future<?> write : writes) {
+                write.get(5, TimeUnit.SECONDS);
+            }
+        }
+
+        assertEquals(before + writers, versionOf(version.current()));
+        assertEquals(0, hikari.getHikariPoolMXBean().getActiveConnections());
+    }
+
+    private static long versionOf(TaskListVersion.Stamp stamp) {
+        return Long.parseLong(stamp.etag().substring(1, stamp.etag().indexOf('-')));
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await(5, TimeUnit.SECONDS);
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private interface Workload {
+        void run() throws Exception;
+    }
+
+    private static List<RecordedEvent> recordPinning(Workload workload) throws Exception {
+        List<RecordedEvent> events = new CopyOnWriteArrayList<>();
+        try (RecordingStream stream = new RecordingStream()) {
+            stream.enable(PINNED).withThreshold(Duration.ZERO).withStackTrace();
+            stream.onEvent(PINNED, events::add);
+            stream.startAsync();
+            workload.run();
+            stream.stop();
+        }
+        return events;
+    }
+
+    private int send(HttpClient http, int n) throws Exception {
+        String base = "http://localhost:" + port + "/api/tasks";
+        HttpRequest request = switch (n % 4) {
+            case 0 -> HttpRequest.newBuilder(URI.create(base))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"title\":\"Виртуальная задача " + n + "\"}"))
+                    .build();
+            case 1 -> HttpRequest.newBuilder(URI.create(base + "?sort=created")).build();
+            case 2 -> HttpRequest.newBuilder(URI.create(base + "?limit=10")).build();
+            default -> HttpRequest.newBuilder(URI.create(base + "/stats")).build();
+        };
+        return http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private boolean isJdbc(RecordedFrame frame) {
+        String type = frame.getMethod().getType().getName();
+        return JDBC_FRAMES.stream().anyMatch(type::startsWith);
+    }
+
+    private String describe(RecordedEvent event) {
+        return event.getStackTrace().getFrames().stream()
+                .limit(25)
+                .map(f -> "  at " + f.getMethod().getType().getName() + "." + f.getMethod().getName() + ":" + f.getLineNumber())
+                .collect(Collectors.joining("\n"));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}